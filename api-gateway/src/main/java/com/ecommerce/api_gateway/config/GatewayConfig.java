@@ -4,6 +4,7 @@ import org.springframework.cloud.gateway.route.RouteLocator;
 import org.springframework.cloud.gateway.route.builder.RouteLocatorBuilder;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
 
 @Configuration
 public class GatewayConfig {
@@ -15,6 +16,12 @@ public class GatewayConfig {
                         .filters(f -> f.circuitBreaker(c -> c.setName("productServiceCB")
                                 .setFallbackUri("forward:/fallback/products")))
                         .uri("lb://product-service"))
+                // Opt-in reads from the reactive product-read-service, same paths under /api/read
+                .route("product-read-service", r -> r.path("/api/read/products/**").and().method(HttpMethod.GET)
+                        .filters(f -> f.rewritePath("/api/read/(?<segment>.*)", "/api/${segment}")
+                                .circuitBreaker(c -> c.setName("productReadServiceCB")
+                                        .setFallbackUri("forward:/fallback/products")))
+                        .uri("lb://product-read-service"))
                 .route("order-service", r -> r.path("/api/orders/**")
                         .filters(f -> f.circuitBreaker(c -> c.setName("orderServiceCB")
                                 .setFallbackUri("forward:/fallback/orders")))
@@ -1,9 +1,7 @@
 package com.ecommerce.api_gateway.filter;
 
-import io.jsonwebtoken.Claims;
-import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.security.Keys;
-import org.springframework.beans.factory.annotation.Value;
+import com.ecommerce.api_gateway.security.VerifiedTokenCache;
+import com.ecommerce.jwt.TokenVerification;
 import org.springframework.cloud.gateway.filter.GatewayFilterChain;
 import org.springframework.cloud.gateway.filter.GlobalFilter;
 import org.springframework.core.Ordered;
@@ -13,19 +11,22 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.server.ServerWebExchange;
 import reactor.core.publisher.Mono;
 
-import javax.crypto.SecretKey;
 import java.util.List;
+import java.util.regex.Pattern;
 
 @Component
 public class AuthenticationFilter implements GlobalFilter, Ordered {
 
-    @Value("${app.jwt.secret:404E635266556A586E3272357538782F413F4428472B4B6250645367566B5970}")
-    private String jwtSecret;
+    private final VerifiedTokenCache verifiedTokenCache;
+
+    private static final Pattern INTERNAL_PATH = Pattern.compile("^(/[^/]+)?/internal(/.*)?$");
 
     private static final List<String> PUBLIC_PATHS = List.of(
             "/api/products",
+            "/api/read/products",
             "/api/users/register",
             "/api/users/login",
+            "/api/users/refresh",
             "/api/users/verify-email",
             "/api/users/forgot-password",
             "/api/users/reset-password",
@@ -33,11 +34,21 @@ public class AuthenticationFilter implements GlobalFilter, Ordered {
             "/actuator"
     );
 
+    public AuthenticationFilter(VerifiedTokenCache verifiedTokenCache) {
+        this.verifiedTokenCache = verifiedTokenCache;
+    }
+
     @Override
     public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
         ServerHttpRequest request = exchange.getRequest();
         String path = request.getPath().value();
 
+        // Service-to-service endpoints, also when reached through the discovery locator
+        if (INTERNAL_PATH.matcher(path).matches()) {
+            exchange.getResponse().setStatusCode(HttpStatus.NOT_FOUND);
+            return exchange.getResponse().setComplete();
+        }
+
         // Skip authentication for public endpoints
         if (isPublicEndpoint(path)) {
             return chain.filter(exchange);
@@ -52,19 +63,23 @@ public class AuthenticationFilter implements GlobalFilter, Ordered {
 
         String token = authHeader.substring(7);
 
-        try {
-            Claims claims = validateToken(token);
-
-            // Add user information to request headers for downstream services
-            ServerHttpRequest modifiedRequest = exchange.getRequest().mutate()
-                    .header("X-User-Name", claims.getSubject())
-                    .build();
-
-            return chain.filter(exchange.mutate().request(modifiedRequest).build());
-        } catch (Exception e) {
+        TokenVerification verification = verifiedTokenCache.verify(token);
+        if (!verification.isValid() || isRefreshToken(verification)) {
             exchange.getResponse().setStatusCode(HttpStatus.UNAUTHORIZED);
             return exchange.getResponse().setComplete();
         }
+
+        // Add user information to request headers for downstream services
+        ServerHttpRequest modifiedRequest = exchange.getRequest().mutate()
+                .header("X-User-Name", verification.claims().getSubject())
+                .build();
+
+        return chain.filter(exchange.mutate().request(modifiedRequest).build());
+    }
+
+    // Refresh tokens are only good for /api/users/refresh, never as bearer tokens
+    private boolean isRefreshToken(TokenVerification verification) {
+        return "refresh".equals(verification.claims().get("token_use", String.class));
     }
 
     private boolean isPublicEndpoint(String path) {
@@ -72,15 +87,6 @@ public class AuthenticationFilter implements GlobalFilter, Ordered {
                 .anyMatch(publicPath -> path.startsWith(publicPath));
     }
 
-    private Claims validateToken(String token) {
-        SecretKey key = Keys.hmacShaKeyFor(jwtSecret.getBytes());
-        return Jwts.parserBuilder()
-                .setSigningKey(key)
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
-    }
-
     @Override
     public int getOrder() {
         return -1;
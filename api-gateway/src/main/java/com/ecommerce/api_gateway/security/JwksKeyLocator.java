@@ -0,0 +1,173 @@
+package com.ecommerce.api_gateway.security;
+
+import io.jsonwebtoken.Header;
+import io.jsonwebtoken.Locator;
+import io.jsonwebtoken.ProtectedHeader;
+import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.client.loadbalancer.reactive.ReactorLoadBalancerExchangeFilterFunction;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import javax.crypto.SecretKey;
+import java.security.GeneralSecurityException;
+import java.security.Key;
+import java.security.KeyFactory;
+import java.security.PublicKey;
+import java.security.spec.X509EncodedKeySpec;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Resolves token verification keys from user-service's JWKS. The key set is fetched
+ * in the background, so {@link #locate} never does I/O on the event loop; an unknown
+ * {@code kid} (a freshly rotated key) triggers an early, rate-limited refresh and
+ * fails that one request. Each fetch reaches a single user-service replica through
+ * the load balancer, so fetched keys are merged into the cached set and a key is
+ * only dropped once no fetch has returned it for {@code jwks-key-retention}; that
+ * way replicas that are mid-rotation never evict each other's keys.
+ */
+@Component
+public class JwksKeyLocator implements Locator<Key> {
+
+    private static final Logger log = LoggerFactory.getLogger(JwksKeyLocator.class);
+
+    private static final byte[] ED25519_X509_PREFIX = {0x30, 0x2a, 0x30, 0x05, 0x06, 0x03, 0x2b, 0x65, 0x70, 0x03, 0x21, 0x00};
+    private static final Duration MIN_ON_DEMAND_INTERVAL = Duration.ofSeconds(10);
+    // Published in the repository, so tokens signed with it prove nothing
+    private static final String DEFAULT_SECRET = "404E635266556A586E3272357538782F413F4428472B4B6250645367566B5970";
+
+    private final WebClient webClient;
+    private final String jwksUri;
+    private final Duration refreshInterval;
+    private final Duration keyRetention;
+    private final SecretKey legacyHmacKey;
+    private final Instant legacyHmacUntil;
+    private final Map<String, CachedKey> keys = new ConcurrentHashMap<>();
+    private final AtomicLong lastOnDemandRefresh = new AtomicLong();
+    private Disposable scheduledRefresh;
+
+    public JwksKeyLocator(ReactorLoadBalancerExchangeFilterFunction loadBalancer,
+                          @Value("${app.jwt.jwks-uri:http://user-service/.well-known/jwks.json}") String jwksUri,
+                          @Value("${app.jwt.jwks-refresh-interval:5m}") Duration refreshInterval,
+                          @Value("${app.jwt.jwks-key-retention:1h}") Duration keyRetention,
+                          @Value("${app.jwt.accept-legacy-hmac:false}") boolean acceptLegacyHmac,
+                          @Value("${app.jwt.legacy-hmac-until:}") String legacyHmacUntil,
+                          @Value("${app.jwt.secret:404E635266556A586E3272357538782F413F4428472B4B6250645367566B5970}") String jwtSecret) {
+        this.webClient = WebClient.builder().filter(loadBalancer).build();
+        this.jwksUri = jwksUri;
+        this.refreshInterval = refreshInterval;
+        this.keyRetention = keyRetention;
+        if (acceptLegacyHmac) {
+            if (legacyHmacUntil.isBlank()) {
+                throw new IllegalStateException("app.jwt.legacy-hmac-until is required with accept-legacy-hmac");
+            }
+            if (DEFAULT_SECRET.equals(jwtSecret)) {
+                throw new IllegalStateException("Refusing legacy HS512 tokens signed with the built-in default app.jwt.secret");
+            }
+        }
+        this.legacyHmacKey = acceptLegacyHmac ? Keys.hmacShaKeyFor(jwtSecret.getBytes()) : null;
+        this.legacyHmacUntil = acceptLegacyHmac ? Instant.parse(legacyHmacUntil) : Instant.MIN;
+    }
+
+    @PostConstruct
+    void start() {
+        scheduledRefresh = Flux.interval(Duration.ZERO, refreshInterval)
+                .concatMap(tick -> refresh())
+                .subscribe();
+    }
+
+    @PreDestroy
+    void stop() {
+        if (scheduledRefresh != null) {
+            scheduledRefresh.dispose();
+        }
+    }
+
+    @Override
+    public Key locate(Header header) {
+        String keyId = header instanceof ProtectedHeader protectedHeader ? protectedHeader.getKeyId() : null;
+        if (keyId == null) {
+            return legacyHmacKey != null && Instant.now().isBefore(legacyHmacUntil) ? legacyHmacKey : null;
+        }
+        CachedKey key = keys.get(keyId);
+        if (key == null) {
+            refreshOnDemand();
+            return null;
+        }
+        return key.publicKey();
+    }
+
+    private void refreshOnDemand() {
+        long now = System.nanoTime();
+        long last = lastOnDemandRefresh.get();
+        if (now - last >= MIN_ON_DEMAND_INTERVAL.toNanos() && lastOnDemandRefresh.compareAndSet(last, now)) {
+            refresh().subscribe();
+        }
+    }
+
+    private Mono<Void> refresh() {
+        return webClient.get()
+                .uri(jwksUri)
+                .retrieve()
+                .bodyToMono(new ParameterizedTypeReference<Map<String, List<Map<String, String>>>>() {
+                })
+                .map(JwksKeyLocator::toPublicKeys)
+                .doOnNext(this::merge)
+                .onErrorResume(ex -> {
+                    log.warn("Could not refresh JWKS from {}: {}", jwksUri, ex.getMessage());
+                    return Mono.empty();
+                })
+                .then();
+    }
+
+    private void merge(Map<String, PublicKey> fetched) {
+        Instant now = Instant.now();
+        fetched.forEach((keyId, publicKey) -> keys.put(keyId, new CachedKey(publicKey, now)));
+        Instant cutoff = now.minus(keyRetention);
+        keys.entrySet().removeIf(entry -> {
+            boolean expired = entry.getValue().lastSeen().isBefore(cutoff);
+            if (expired) {
+                log.info("Dropping JWT verification key {}, not published for {}", entry.getKey(), keyRetention);
+            }
+            return expired;
+        });
+        log.debug("Fetched {} JWT verification keys, {} cached", fetched.size(), keys.size());
+    }
+
+    private record CachedKey(PublicKey publicKey, Instant lastSeen) {
+    }
+
+    private static Map<String, PublicKey> toPublicKeys(Map<String, List<Map<String, String>>> jwks) {
+        Map<String, PublicKey> publicKeys = new HashMap<>();
+        for (Map<String, String> jwk : jwks.getOrDefault("keys", List.of())) {
+            if (!"OKP".equals(jwk.get("kty")) || !"Ed25519".equals(jwk.get("crv"))) {
+                continue;
+            }
+            byte[] raw = Base64.getUrlDecoder().decode(jwk.get("x"));
+            byte[] encoded = new byte[ED25519_X509_PREFIX.length + raw.length];
+            System.arraycopy(ED25519_X509_PREFIX, 0, encoded, 0, ED25519_X509_PREFIX.length);
+            System.arraycopy(raw, 0, encoded, ED25519_X509_PREFIX.length, raw.length);
+            try {
+                publicKeys.put(jwk.get("kid"), KeyFactory.getInstance("Ed25519").generatePublic(new X509EncodedKeySpec(encoded)));
+            } catch (GeneralSecurityException ex) {
+                log.warn("Skipping invalid JWK {}", jwk.get("kid"), ex);
+            }
+        }
+        return Map.copyOf(publicKeys);
+    }
+}
@@ -0,0 +1,111 @@
+package com.ecommerce.api_gateway.security;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.client.loadbalancer.reactive.ReactorLoadBalancerExchangeFilterFunction;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.util.UriComponentsBuilder;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Replays user-service's token revocations into {@link VerifiedTokenCache}. The
+ * first poll loads every active revocation, later polls only those revoked since
+ * the previous successful poll; poll windows overlap so rows committed late are
+ * not missed. Each poll reads the feed page by page, authenticated with the
+ * internal API token. Until the first poll succeeds the gateway cannot reject revoked
+ * tokens, only user-service itself can.
+ */
+@Component
+public class TokenRevocationPoller {
+
+    private static final Logger log = LoggerFactory.getLogger(TokenRevocationPoller.class);
+
+    private static final Duration POLL_OVERLAP = Duration.ofSeconds(30);
+    private static final String INTERNAL_TOKEN_HEADER = "X-Internal-Token";
+
+    private record RevocationDto(long id, String key, Instant revokedAt, Instant expiresAt) {
+    }
+
+    private final VerifiedTokenCache verifiedTokenCache;
+    private final WebClient webClient;
+    private final String revocationsUri;
+    private final Duration pollInterval;
+    private final int pageSize;
+    private final String internalApiToken;
+    private volatile Instant lastPoll;
+    private Disposable scheduledPoll;
+
+    public TokenRevocationPoller(VerifiedTokenCache verifiedTokenCache,
+                                 ReactorLoadBalancerExchangeFilterFunction loadBalancer,
+                                 @Value("${app.jwt.revocations.uri:http://user-service/internal/token-revocations}") String revocationsUri,
+                                 @Value("${app.jwt.revocations.poll-interval:5s}") Duration pollInterval,
+                                 @Value("${app.jwt.revocations.page-size:500}") int pageSize,
+                                 @Value("${app.internal.api-token:}") String internalApiToken) {
+        this.verifiedTokenCache = verifiedTokenCache;
+        this.webClient = WebClient.builder().filter(loadBalancer).build();
+        this.revocationsUri = revocationsUri;
+        this.pollInterval = pollInterval;
+        this.pageSize = pageSize;
+        this.internalApiToken = internalApiToken;
+        if (internalApiToken.isBlank()) {
+            log.warn("app.internal.api-token is not set; user-service will refuse the revocation feed");
+        }
+    }
+
+    @PostConstruct
+    void start() {
+        scheduledPoll = Flux.interval(Duration.ZERO, pollInterval)
+                .concatMap(tick -> poll())
+                .subscribe();
+    }
+
+    @PreDestroy
+    void stop() {
+        if (scheduledPoll != null) {
+            scheduledPoll.dispose();
+        }
+    }
+
+    private Mono<Void> poll() {
+        Instant now = Instant.now();
+        Instant since = lastPoll == null ? Instant.EPOCH : lastPoll.minus(POLL_OVERLAP);
+        return fetchFrom(since, 0)
+                .doOnNext(revocation -> verifiedTokenCache.applyRevocation(
+                        revocation.key(), revocation.revokedAt(), revocation.expiresAt()))
+                .then(Mono.fromRunnable(() -> lastPoll = now))
+                .onErrorResume(ex -> {
+                    log.warn("Could not poll token revocations from {}: {}", revocationsUri, ex.getMessage());
+                    return Mono.empty();
+                })
+                .then();
+    }
+
+    private Flux<RevocationDto> fetchFrom(Instant since, long afterId) {
+        return webClient.get()
+                .uri(UriComponentsBuilder.fromUriString(revocationsUri)
+                        .queryParam("since", since)
+                        .queryParam("afterId", afterId)
+                        .queryParam("limit", pageSize)
+                        .build()
+                        .toUri())
+                .header(INTERNAL_TOKEN_HEADER, internalApiToken)
+                .retrieve()
+                .bodyToFlux(RevocationDto.class)
+                .collectList()
+                .flatMapMany(page -> {
+                    Flux<RevocationDto> rest = page.size() < pageSize
+                            ? Flux.empty()
+                            : fetchFrom(since, page.get(page.size() - 1).id());
+                    return Flux.fromIterable(page).concatWith(rest);
+                });
+    }
+}
@@ -0,0 +1,235 @@
+package com.ecommerce.api_gateway.security;
+
+import com.ecommerce.jwt.JwtTokenVerifier;
+import com.ecommerce.jwt.TokenVerification;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Verified bearer tokens keyed by the SHA-256 of the token, each entry living
+ * exactly until the token's own expiry. Lookups and inserts never block, so the
+ * cache is safe to use on the Netty event loop; concurrent misses for the same
+ * token may both verify it, which is cheaper than coordinating them. Revocations
+ * polled from user-service by {@link TokenRevocationPoller} are checked on every
+ * hit, cached or not.
+ */
+@Component
+public class VerifiedTokenCache {
+
+    private static final String TOKEN = "jti:";
+    private static final String FAMILY = "fid:";
+    private static final String USER = "uid:";
+    private static final String USER_ID_CLAIM = "uid";
+    private static final String FAMILY_ID_CLAIM = "fid";
+
+    private record Revocation(Instant revokedAt, Instant expiresAt) {
+    }
+
+    private final JwtTokenVerifier tokenVerifier;
+    private final Cache<String, Claims> verifiedTokens;
+    private final Cache<String, Revocation> revocations;
+    // Cached token hashes per user and family, so a revocation evicts just those
+    private final Map<String, Set<String>> cachedTokensByKey = new ConcurrentHashMap<>();
+    private final Timer validVerifications;
+    private final Timer rejectedVerifications;
+
+    public VerifiedTokenCache(
+            JwksKeyLocator keyLocator,
+            @Value("${app.jwt.verified-token-cache.max-size:100000}") long maxSize,
+            MeterRegistry meterRegistry) {
+        this.tokenVerifier = new JwtTokenVerifier(keyLocator);
+        this.verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(untilExpiry())
+                .removalListener((String key, Claims claims, RemovalCause cause) -> {
+                    if (cause != RemovalCause.REPLACED) {
+                        unindex(key, claims);
+                    }
+                })
+                .recordStats()
+                .build();
+        this.revocations = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(untilRevocationExpiry())
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, verifiedTokens, "gatewayVerifiedTokens");
+        Gauge.builder("gateway.jwt.revocations.size", revocations, Cache::estimatedSize)
+                .description("Active revocations held by the gateway")
+                .register(meterRegistry);
+        this.validVerifications = verificationTimer(meterRegistry, "valid");
+        this.rejectedVerifications = verificationTimer(meterRegistry, "rejected");
+    }
+
+    public TokenVerification verify(String token) {
+        String key = hash(token);
+        Claims cached = verifiedTokens.getIfPresent(key);
+        if (cached != null) {
+            return isRevoked(cached)
+                    ? TokenVerification.failed(TokenVerification.Status.REVOKED)
+                    : TokenVerification.valid(cached);
+        }
+
+        long start = System.nanoTime();
+        TokenVerification verification = tokenVerifier.verify(token);
+        (verification.isValid() ? validVerifications : rejectedVerifications)
+                .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+
+        if (!verification.isValid()) {
+            return verification;
+        }
+        if (isRevoked(verification.claims())) {
+            return TokenVerification.failed(TokenVerification.Status.REVOKED);
+        }
+        verifiedTokens.put(key, verification.claims());
+        index(key, verification.claims());
+        return verification;
+    }
+
+    /**
+     * Applies a revocation published by user-service. Keys are {@code jti:<token id>}
+     * and {@code fid:<refresh-token family>}, which reject those tokens outright, and
+     * {@code uid:<user id>}, which rejects the user's tokens issued before
+     * {@code revokedAt}, e.g. after a lock or password change.
+     */
+    public void applyRevocation(String revokedKey, Instant revokedAt, Instant expiresAt) {
+        revocations.asMap().merge(revokedKey, new Revocation(revokedAt, expiresAt),
+                (current, next) -> next.revokedAt().isAfter(current.revokedAt()) ? next : current);
+        Set<String> tokens = cachedTokensByKey.remove(revokedKey);
+        if (tokens != null) {
+            verifiedTokens.invalidateAll(tokens);
+        }
+    }
+
+    private boolean isRevoked(Claims claims) {
+        if (claims.getId() != null && revocations.getIfPresent(TOKEN + claims.getId()) != null) {
+            return true;
+        }
+        String familyId = claims.get(FAMILY_ID_CLAIM, String.class);
+        if (familyId != null && revocations.getIfPresent(FAMILY + familyId) != null) {
+            return true;
+        }
+        Number userId = claims.get(USER_ID_CLAIM, Number.class);
+        Revocation userRevocation = userId == null ? null : revocations.getIfPresent(USER + userId.longValue());
+        if (userRevocation == null) {
+            return false;
+        }
+        // Same rule as user-service: iat has second precision, so tokens from the
+        // second of the revocation stay valid
+        Date issuedAt = claims.getIssuedAt();
+        return issuedAt == null
+                || issuedAt.toInstant().isBefore(userRevocation.revokedAt().truncatedTo(ChronoUnit.SECONDS));
+    }
+
+    private void index(String tokenKey, Claims claims) {
+        for (String revocationKey : revocationKeys(claims)) {
+            cachedTokensByKey.computeIfAbsent(revocationKey, k -> ConcurrentHashMap.newKeySet()).add(tokenKey);
+        }
+    }
+
+    private void unindex(String tokenKey, Claims claims) {
+        if (claims == null) {
+            return;
+        }
+        for (String revocationKey : revocationKeys(claims)) {
+            cachedTokensByKey.computeIfPresent(revocationKey, (k, tokens) -> {
+                tokens.remove(tokenKey);
+                return tokens.isEmpty() ? null : tokens;
+            });
+        }
+    }
+
+    private static List<String> revocationKeys(Claims claims) {
+        List<String> keys = new ArrayList<>(2);
+        Number userId = claims.get(USER_ID_CLAIM, Number.class);
+        if (userId != null) {
+            keys.add(USER + userId.longValue());
+        }
+        String familyId = claims.get(FAMILY_ID_CLAIM, String.class);
+        if (familyId != null) {
+            keys.add(FAMILY + familyId);
+        }
+        return keys;
+    }
+
+    private static Timer verificationTimer(MeterRegistry meterRegistry, String result) {
+        return Timer.builder("gateway.jwt.verification")
+                .description("Signature verification and claims parsing on cache misses")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    private static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(digest);
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 not available", ex);
+        }
+    }
+
+    private static Expiry<String, Claims> untilExpiry() {
+        return new Expiry<>() {
+            @Override
+            public long expireAfterCreate(String key, Claims claims, long currentTime) {
+                Date expiration = claims.getExpiration();
+                if (expiration == null) {
+                    return 0;
+                }
+                return Math.max(0, Duration.between(Instant.now(), expiration.toInstant()).toNanos());
+            }
+
+            @Override
+            public long expireAfterUpdate(String key, Claims claims, long currentTime, long currentDuration) {
+                return expireAfterCreate(key, claims, currentTime);
+            }
+
+            @Override
+            public long expireAfterRead(String key, Claims claims, long currentTime, long currentDuration) {
+                return currentDuration;
+            }
+        };
+    }
+
+    private static Expiry<String, Revocation> untilRevocationExpiry() {
+        return new Expiry<>() {
+            @Override
+            public long expireAfterCreate(String key, Revocation revocation, long currentTime) {
+                return Math.max(0, Duration.between(Instant.now(), revocation.expiresAt()).toNanos());
+            }
+
+            @Override
+            public long expireAfterUpdate(String key, Revocation revocation, long currentTime, long currentDuration) {
+                return expireAfterCreate(key, revocation, currentTime);
+            }
+
+            @Override
+            public long expireAfterRead(String key, Revocation revocation, long currentTime, long currentDuration) {
+                return currentDuration;
+            }
+        };
+    }
+}
@@ -0,0 +1,22 @@
+#!/usr/bin/env bash
+# Measures authenticated request throughput against user-service.
+# Requires `hey` (https://github.com/rakyll/hey), curl and jq, and a verified user.
+#
+#   USERNAME=alice PASSWORD=secret ./benchmarks/authenticated-requests.sh [base-url] [path] [concurrency] [requests]
+#
+# Run it once per build being compared (for example before and after a change to
+# JwtAuthenticationFilter) and compare "Requests/sec". The default path is the
+# cheapest authenticated endpoint, so filter overhead dominates the result.
+set -euo pipefail
+
+BASE_URL=${1:-http://localhost:8084}
+TARGET_PATH=${2:-/api/users/profile}
+CONCURRENCY=${3:-200}
+REQUESTS=${4:-50000}
+
+TOKEN=$(curl -sf -H 'Content-Type: application/json' \
+  -d "{\"usernameOrEmail\":\"${USERNAME:?}\",\"password\":\"${PASSWORD:?}\"}" \
+  "$BASE_URL/api/users/login" | jq -r .accessToken)
+
+hey -n 5000 -c 50 -H "Authorization: Bearer $TOKEN" "$BASE_URL$TARGET_PATH" > /dev/null
+hey -n "$REQUESTS" -c "$CONCURRENCY" -H "Authorization: Bearer $TOKEN" "$BASE_URL$TARGET_PATH"
@@ -0,0 +1,34 @@
+#!/usr/bin/env bash
+# Saturates user-service logins and measures profile reads at the same time.
+# Requires `hey` (https://github.com/rakyll/hey), curl and jq, and a verified user.
+#
+#   USERNAME=alice PASSWORD=secret ./benchmarks/login-saturation.sh [base-url] [login-concurrency] [duration]
+#
+# The login load runs well above the password-hashing pool, so most logins should
+# come back as 503 quickly. The profile summary printed at the end is the number to
+# watch: its latency should stay close to an unloaded run. Compare with
+# password.hashing* metrics on /actuator/metrics afterwards.
+set -euo pipefail
+
+BASE_URL=${1:-http://localhost:8084}
+LOGIN_CONCURRENCY=${2:-400}
+DURATION=${3:-60s}
+
+LOGIN_BODY="{\"usernameOrEmail\":\"${USERNAME:?}\",\"password\":\"${PASSWORD:?}\"}"
+TOKEN=$(curl -sf -H 'Content-Type: application/json' -d "$LOGIN_BODY" "$BASE_URL/api/users/login" | jq -r .accessToken)
+
+echo "=== profile reads, idle ==="
+hey -z 15s -c 20 -H "Authorization: Bearer $TOKEN" "$BASE_URL/api/users/profile"
+
+hey -z "$DURATION" -c "$LOGIN_CONCURRENCY" -m POST -T application/json -d "$LOGIN_BODY" \
+  "$BASE_URL/api/users/login" > login-saturation-logins.txt &
+LOGIN_PID=$!
+sleep 5
+
+echo "=== profile reads, logins saturated ==="
+hey -z 15s -c 20 -H "Authorization: Bearer $TOKEN" "$BASE_URL/api/users/profile"
+
+wait "$LOGIN_PID"
+echo "=== logins ==="
+cat login-saturation-logins.txt
+rm -f login-saturation-logins.txt
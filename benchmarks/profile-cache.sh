@@ -0,0 +1,24 @@
+#!/usr/bin/env bash
+# Measures GET /api/users/profile throughput and reports the profile cache hit ratio.
+# Requires `hey` (https://github.com/rakyll/hey), curl and jq, and a verified user.
+#
+#   USERNAME=alice PASSWORD=secret ./benchmarks/profile-cache.sh [base-url] [concurrency] [requests]
+#
+# Compare "Requests/sec" against a build without the cache (or with
+# app.user-profile-cache.max-size=0); with a single user the hit ratio should be ~1.
+set -euo pipefail
+
+BASE_URL=${1:-http://localhost:8084}
+CONCURRENCY=${2:-200}
+REQUESTS=${3:-50000}
+
+"$(dirname "$0")/authenticated-requests.sh" "$BASE_URL" /api/users/profile "$CONCURRENCY" "$REQUESTS"
+
+metric() {
+  curl -sf "$BASE_URL/actuator/metrics/cache.gets?tag=cache:userProfiles&tag=result:$1" \
+    | jq '.measurements[] | select(.statistic == "COUNT") | .value'
+}
+
+HITS=$(metric hit)
+MISSES=$(metric miss)
+echo "userProfiles cache: hits=$HITS misses=$MISSES ratio=$(jq -n "$HITS / ($HITS + $MISSES)")"
@@ -0,0 +1,52 @@
+#!/usr/bin/env bash
+# Compares product reads on the servlet product-service with the WebFlux
+# product-read-service under many concurrent connections.
+# Requires `hey` (https://github.com/rakyll/hey), curl, jq and docker compose.
+#
+#   ./benchmarks/reactive-reads.sh [concurrency] [requests] [path]
+#
+# Both services serve the same GET paths, so each one gets the same warm-up and
+# load. While the load runs, live JVM threads (jvm.threads.live) and the
+# container's memory are sampled once a second; the peak of each is printed
+# after the hey summary. Compare "Requests/sec", the latency distribution and
+# how threads and memory grow with the connection count. The services are hit
+# directly; through the gateway, product-read-service answers /api/read/products/**.
+set -euo pipefail
+
+CONCURRENCY=${1:-5000}
+REQUESTS=${2:-200000}
+REQUEST_PATH=${3:-/api/products?page=0&size=20}
+
+# name:port of the services to compare
+TARGETS=("product-service:8081" "product-read-service:8085")
+
+sample() {
+  local service=$1 port=$2 out=$3
+  while true; do
+    threads=$(curl -sf "http://localhost:$port/actuator/metrics/jvm.threads.live" \
+      | jq '.measurements[0].value' || echo 0)
+    memory=$(docker stats --no-stream --format '{{.MemUsage}}' "$service" | cut -d/ -f1)
+    echo "$threads $memory" >> "$out"
+    sleep 1
+  done
+}
+
+for target in "${TARGETS[@]}"; do
+  service=${target%%:*}
+  port=${target##*:}
+  url="http://localhost:$port$REQUEST_PATH"
+  samples=$(mktemp)
+
+  echo "=== $service, c=$CONCURRENCY, n=$REQUESTS, $REQUEST_PATH ==="
+  hey -n 5000 -c 50 "$url" > /dev/null
+
+  sample "$service" "$port" "$samples" &
+  sampler=$!
+  hey -n "$REQUESTS" -c "$CONCURRENCY" "$url"
+  kill "$sampler"
+  wait "$sampler" 2>/dev/null || true
+
+  echo "Peak live threads: $(sort -n -k1 "$samples" | tail -1 | cut -d' ' -f1)"
+  echo "Peak memory:       $(sort -h -k2 "$samples" | tail -1 | cut -d' ' -f2)"
+  rm -f "$samples"
+done
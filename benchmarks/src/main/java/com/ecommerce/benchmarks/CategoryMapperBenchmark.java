@@ -0,0 +1,50 @@
+package com.ecommerce.benchmarks;
+
+import com.ecommerce.product_service.dto.CategoryDTO;
+import com.ecommerce.product_service.entity.Category;
+import com.ecommerce.product_service.mapper.CategoryMapper;
+import com.ecommerce.product_service.mapper.CategoryMapperImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Category tree mapping as served by {@code GET /api/categories/tree}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+public class CategoryMapperBenchmark {
+
+    @Param({"2", "3"})
+    private int depth;
+
+    @Param({"4", "8"})
+    private int fanout;
+
+    private final CategoryMapper mapper = new CategoryMapperImpl();
+    private Category root;
+
+    @Setup
+    public void setUp() {
+        root = ProductFixtures.categoryTree(depth, fanout);
+    }
+
+    @Benchmark
+    public CategoryDTO toDTOWithChildren() {
+        return mapper.toDTOWithChildren(root);
+    }
+}
@@ -0,0 +1,209 @@
+package com.ecommerce.benchmarks;
+
+import com.ecommerce.user_service.entity.EventOutboxMessage;
+import com.ecommerce.user_service.event.EventBatchMessageConverter;
+import com.ecommerce.user_service.event.UserEvent;
+import com.ecommerce.user_service.outbox.EventBatchCodec;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageBuilder;
+import org.springframework.amqp.core.MessageDeliveryMode;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Publishing 100 registration events from the outbox as 100 JSON messages versus
+ * one {@link EventBatchCodec} batch, and consuming them again. The broker is an
+ * in-process stand-in that does the per-message work a broker cannot avoid: frame
+ * the properties and body into its buffer and route by key. Scores are events per
+ * millisecond, so the publish variants compare directly; at the end of each run the
+ * stand-in prints messages and framed bytes per event, the broker-side reduction.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+public class EventPublishingBenchmark {
+
+    private static final int EVENTS = 100;
+    private static final String EXCHANGE = "user-events";
+    private static final String ROUTING_KEY = "user.registered";
+
+    private List<EventOutboxMessage> events;
+    private List<Message> jsonMessages;
+    private Message batchMessage;
+    private Jackson2JsonMessageConverter jsonConverter;
+    private EventBatchMessageConverter batchConverter;
+    private StandInBroker broker;
+
+    @Setup
+    public void setUp() throws JsonProcessingException {
+        ObjectMapper objectMapper = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        events = new ArrayList<>(EVENTS);
+        for (int i = 0; i < EVENTS; i++) {
+            UUID eventId = UUID.randomUUID();
+            UserEvent event = UserEvent.builder()
+                    .eventId(eventId.toString())
+                    .userId(100_000L + i)
+                    .username("user" + i)
+                    .email("user" + i + "@example.com")
+                    .eventType("USER_REGISTERED")
+                    .timestamp(LocalDateTime.now())
+                    .build();
+            events.add(EventOutboxMessage.builder()
+                    .eventId(eventId)
+                    .exchange(EXCHANGE)
+                    .routingKey(ROUTING_KEY)
+                    .payloadType(UserEvent.class.getName())
+                    .payload(objectMapper.writeValueAsString(event))
+                    .build());
+        }
+        jsonMessages = events.stream().map(EventPublishingBenchmark::jsonMessage).toList();
+        batchMessage = EventBatchCodec.toMessage(events);
+        jsonConverter = new Jackson2JsonMessageConverter(objectMapper);
+        batchConverter = new EventBatchMessageConverter(objectMapper);
+        broker = new StandInBroker();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(EVENTS)
+    public long publishJsonPerEvent() {
+        for (EventOutboxMessage event : events) {
+            broker.publish(ROUTING_KEY, jsonMessage(event));
+        }
+        return broker.drain();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(EVENTS)
+    public long publishBinaryBatch() {
+        broker.publish(ROUTING_KEY, EventBatchCodec.toMessage(events));
+        return broker.drain();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(EVENTS)
+    public int consumeJsonPerEvent() {
+        int consumed = 0;
+        for (Message message : jsonMessages) {
+            if (jsonConverter.fromMessage(message) != null) {
+                consumed++;
+            }
+        }
+        return consumed;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(EVENTS)
+    public int consumeBinaryBatch() {
+        return batchConverter.fromMessage(batchMessage).size();
+    }
+
+    @TearDown
+    public void report() {
+        if (broker.events() > 0) {
+            System.out.printf("%nstand-in broker: %.3f messages/event, %.1f bytes/event%n",
+                    (double) broker.messages() / broker.events(), (double) broker.bytes() / broker.events());
+        }
+    }
+
+    // The relay's single-event message, as sent for keys without batching
+    private static Message jsonMessage(EventOutboxMessage event) {
+        return MessageBuilder.withBody(event.getPayload().getBytes(StandardCharsets.UTF_8))
+                .setContentType(MessageProperties.CONTENT_TYPE_JSON)
+                .setContentEncoding(StandardCharsets.UTF_8.name())
+                .setMessageId(event.getEventId().toString())
+                .setDeliveryMode(MessageDeliveryMode.PERSISTENT)
+                .setHeader("__TypeId__", event.getPayloadType())
+                .build();
+    }
+
+    /**
+     * Frames each message into a reused buffer (content header with properties and
+     * headers, then the body) and routes it to the queue bound to the key.
+     */
+    static final class StandInBroker {
+
+        private final Map<String, List<ByteBuffer>> queues = Map.of(ROUTING_KEY, new ArrayList<>());
+        private final ByteBuffer frames = ByteBuffer.allocate(1 << 20);
+        private long messages;
+        private long events;
+        private long bytes;
+
+        void publish(String routingKey, Message message) {
+            MessageProperties properties = message.getMessageProperties();
+            int start = frames.position();
+            putShortString(properties.getContentType());
+            putShortString(properties.getContentEncoding());
+            putShortString(properties.getMessageId());
+            frames.put((byte) (properties.getDeliveryMode() == MessageDeliveryMode.PERSISTENT ? 2 : 1));
+            for (Map.Entry<String, Object> header : properties.getHeaders().entrySet()) {
+                putShortString(header.getKey());
+                putShortString(String.valueOf(header.getValue()));
+            }
+            frames.putLong(message.getBody().length);
+            frames.put(message.getBody());
+            queues.get(routingKey).add(frames.slice(start, frames.position() - start));
+            messages++;
+            events += properties.getHeaders().containsKey(EventBatchCodec.BATCH_SIZE_HEADER)
+                    ? ((Number) properties.getHeaders().get(EventBatchCodec.BATCH_SIZE_HEADER)).longValue() : 1;
+            bytes += frames.position() - start;
+        }
+
+        long drain() {
+            long drained = 0;
+            for (List<ByteBuffer> queue : queues.values()) {
+                drained += queue.size();
+                queue.clear();
+            }
+            frames.clear();
+            return drained;
+        }
+
+        long events() {
+            return events;
+        }
+
+        long messages() {
+            return messages;
+        }
+
+        long bytes() {
+            return bytes;
+        }
+
+        private void putShortString(String value) {
+            byte[] encoded = value == null ? new byte[0] : value.getBytes(StandardCharsets.UTF_8);
+            frames.put((byte) encoded.length);
+            frames.put(encoded);
+        }
+    }
+}
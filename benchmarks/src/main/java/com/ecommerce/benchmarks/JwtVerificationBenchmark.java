@@ -0,0 +1,122 @@
+package com.ecommerce.benchmarks;
+
+import com.ecommerce.jwt.JwtTokenVerifier;
+import com.ecommerce.jwt.TokenVerification;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.security.SignatureAlgorithm;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javax.crypto.SecretKey;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.NoSuchAlgorithmException;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * HS512 access token verification as done per authenticated request. The legacy
+ * variants rebuild the key and parser on every call and parse the token twice
+ * (validate, then read the subject), which is what the filters did before
+ * {@link JwtTokenVerifier}. The EdDSA and ES256 variants show the cost of asymmetric
+ * verification against HS512. Run with {@code -prof gc} for bytes allocated per token.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+@Threads(4)
+public class JwtVerificationBenchmark {
+
+    private static final String SECRET = "404E635266556A586E3272357538782F413F4428472B4B6250645367566B5970";
+
+    private JwtTokenVerifier verifier;
+    private String token;
+    private JwtTokenVerifier eddsaVerifier;
+    private String eddsaToken;
+    private JwtTokenVerifier es256Verifier;
+    private String es256Token;
+
+    @Setup
+    public void setUp() throws NoSuchAlgorithmException {
+        SecretKey key = Keys.hmacShaKeyFor(SECRET.getBytes());
+        verifier = new JwtTokenVerifier(key);
+        token = Jwts.builder()
+                .subject("benchmark-user")
+                .claim("uid", 42L)
+                .claim("roles", List.of("USER"))
+                .issuedAt(new Date())
+                .expiration(new Date(System.currentTimeMillis() + TimeUnit.DAYS.toMillis(1)))
+                .signWith(key, Jwts.SIG.HS512)
+                .compact();
+
+        KeyPair ed25519 = KeyPairGenerator.getInstance("Ed25519").generateKeyPair();
+        eddsaVerifier = new JwtTokenVerifier(header -> ed25519.getPublic());
+        eddsaToken = signed(ed25519, Jwts.SIG.EdDSA);
+
+        KeyPair p256 = Jwts.SIG.ES256.keyPair().build();
+        es256Verifier = new JwtTokenVerifier(header -> p256.getPublic());
+        es256Token = signed(p256, Jwts.SIG.ES256);
+    }
+
+    @Benchmark
+    public TokenVerification sharedVerifier() {
+        return verifier.verify(token);
+    }
+
+    @Benchmark
+    public TokenVerification eddsaVerifier() {
+        return eddsaVerifier.verify(eddsaToken);
+    }
+
+    @Benchmark
+    public TokenVerification es256Verifier() {
+        return es256Verifier.verify(es256Token);
+    }
+
+    @Benchmark
+    public String legacyValidateThenParse() {
+        legacyParse(token);
+        return legacyParse(token).getSubject();
+    }
+
+    @Benchmark
+    public Claims legacySingleParse() {
+        return legacyParse(token);
+    }
+
+    private static String signed(KeyPair keyPair, SignatureAlgorithm algorithm) {
+        return Jwts.builder()
+                .header().keyId("benchmark").and()
+                .subject("benchmark-user")
+                .claim("uid", 42L)
+                .claim("roles", List.of("USER"))
+                .issuedAt(new Date())
+                .expiration(new Date(System.currentTimeMillis() + TimeUnit.DAYS.toMillis(1)))
+                .signWith(keyPair.getPrivate(), algorithm)
+                .compact();
+    }
+
+    private static Claims legacyParse(String token) {
+        SecretKey key = Keys.hmacShaKeyFor(SECRET.getBytes());
+        return Jwts.parser()
+                .verifyWith(key)
+                .build()
+                .parseSignedClaims(token)
+                .getPayload();
+    }
+}
@@ -0,0 +1,72 @@
+package com.ecommerce.benchmarks;
+
+import com.ecommerce.product_service.dto.ProductDTO;
+import com.ecommerce.product_service.mapper.ProductMapperImpl;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JSON serialization of a 20-item product page. {@code newMapperPerCall} is the
+ * worst case of building serializers per response; {@code sharedMapper} is what the
+ * MVC message converter does, and {@code reusedWriter} additionally skips the
+ * per-call root type lookup.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+public class PageSerializationBenchmark {
+
+    private ObjectMapper objectMapper;
+    private ObjectWriter writer;
+    private Page<ProductDTO> page;
+
+    @Setup
+    public void setUp() {
+        objectMapper = newObjectMapper();
+        writer = objectMapper.writerFor(PageImpl.class);
+        page = new PageImpl<>(new ProductMapperImpl().toDTOs(ProductFixtures.page(20, 4)),
+                PageRequest.of(0, 20), 1000);
+    }
+
+    @Benchmark
+    public byte[] newMapperPerCall() throws JsonProcessingException {
+        return newObjectMapper().writeValueAsBytes(page);
+    }
+
+    @Benchmark
+    public byte[] sharedMapper() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(page);
+    }
+
+    @Benchmark
+    public byte[] reusedWriter() throws JsonProcessingException {
+        return writer.writeValueAsBytes(page);
+    }
+
+    private static ObjectMapper newObjectMapper() {
+        return new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    }
+}
@@ -0,0 +1,73 @@
+package com.ecommerce.benchmarks;
+
+import com.ecommerce.product_service.entity.Category;
+import com.ecommerce.product_service.entity.Product;
+import com.ecommerce.product_service.entity.ProductAttribute;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+final class ProductFixtures {
+
+    private ProductFixtures() {
+    }
+
+    static Product product(long id, int attributeCount) {
+        Set<ProductAttribute> attributes = new HashSet<>();
+        for (int i = 0; i < attributeCount; i++) {
+            attributes.add(ProductAttribute.builder()
+                    .id(id * 100 + i)
+                    .name("attribute-" + i)
+                    .value("value-" + i)
+                    .build());
+        }
+        return Product.builder()
+                .id(id)
+                .sku("SKU-" + id)
+                .name("Product " + id)
+                .description("Description of product " + id)
+                .price(new BigDecimal("19.99").add(BigDecimal.valueOf(id)))
+                .imageUrl("https://cdn.example.com/products/" + id + ".jpg")
+                .category(Category.builder().id(id % 10).name("Category " + id % 10).build())
+                .attributes(attributes)
+                .active(true)
+                .createdAt(LocalDateTime.of(2024, 1, 1, 12, 0))
+                .updatedAt(LocalDateTime.of(2024, 6, 1, 12, 0))
+                .version(1L)
+                .build();
+    }
+
+    static List<Product> page(int size, int attributeCount) {
+        List<Product> products = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            products.add(product(i + 1, attributeCount));
+        }
+        return products;
+    }
+
+    static Category categoryTree(int depth, int fanout) {
+        return category(new long[]{1}, null, depth, fanout);
+    }
+
+    private static Category category(long[] nextId, Category parent, int depth, int fanout) {
+        long id = nextId[0]++;
+        Category category = Category.builder()
+                .id(id)
+                .name("Category " + id)
+                .description("Description of category " + id)
+                .parent(parent)
+                .children(new HashSet<>())
+                .products(new HashSet<>())
+                .build();
+        if (depth > 0) {
+            for (int i = 0; i < fanout; i++) {
+                category.getChildren().add(category(nextId, category, depth - 1, fanout));
+            }
+        }
+        return category;
+    }
+}
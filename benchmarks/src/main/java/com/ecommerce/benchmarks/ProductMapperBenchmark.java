@@ -0,0 +1,79 @@
+package com.ecommerce.benchmarks;
+
+import com.ecommerce.product_service.dto.ProductDTO;
+import com.ecommerce.product_service.entity.Product;
+import com.ecommerce.product_service.entity.ProductAttribute;
+import com.ecommerce.product_service.mapper.ProductMapper;
+import com.ecommerce.product_service.mapper.ProductMapperImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Product entity to DTO mapping for a single product and a 20-item list page.
+ * {@code legacyAttributesToMap} is the stream/collector implementation the mapper
+ * used before, kept as the baseline for {@code attributesToMap}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+public class ProductMapperBenchmark {
+
+    @Param({"0", "4", "16"})
+    private int attributeCount;
+
+    private final ProductMapper mapper = new ProductMapperImpl();
+    private Product product;
+    private List<Product> page;
+
+    @Setup
+    public void setUp() {
+        product = ProductFixtures.product(1, attributeCount);
+        page = ProductFixtures.page(20, attributeCount);
+    }
+
+    @Benchmark
+    public ProductDTO toDTO() {
+        return mapper.toDTO(product);
+    }
+
+    @Benchmark
+    public List<ProductDTO> toDTOsPage() {
+        return mapper.toDTOs(page);
+    }
+
+    @Benchmark
+    public List<ProductDTO> streamMappedPage() {
+        return page.stream().map(mapper::toDTO).collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public Map<String, String> attributesToMap() {
+        return mapper.attributesToMap(product.getAttributes());
+    }
+
+    @Benchmark
+    public Map<String, String> legacyAttributesToMap() {
+        if (product.getAttributes() == null || product.getAttributes().isEmpty()) {
+            return null;
+        }
+        return product.getAttributes().stream()
+                .collect(Collectors.toMap(ProductAttribute::getName, ProductAttribute::getValue));
+    }
+}
@@ -0,0 +1,30 @@
+#!/usr/bin/env bash
+# Compares request throughput of a service with platform vs virtual request threads.
+# Requires `hey` (https://github.com/rakyll/hey) and docker compose.
+#
+#   ./benchmarks/virtual-threads.sh [service] [url] [concurrency] [requests]
+#
+# Each mode restarts the service with VIRTUAL_THREADS_ENABLED toggled, warms it up,
+# then runs the same load and prints the hey summary. Compare "Requests/sec" and the
+# latency distribution; the datasource.permits.* and jvm.threads.virtual.pinned
+# metrics on /actuator/metrics show how much of the run was spent waiting on the pool.
+set -euo pipefail
+
+SERVICE=${1:-product-service}
+URL=${2:-http://localhost:8081/api/products?page=0&size=20}
+CONCURRENCY=${3:-1000}
+REQUESTS=${4:-100000}
+
+wait_healthy() {
+  until [ "$(docker inspect -f '{{.State.Health.Status}}' "$SERVICE")" = "healthy" ]; do
+    sleep 5
+  done
+}
+
+for mode in false true; do
+  echo "=== $SERVICE, VIRTUAL_THREADS_ENABLED=$mode, c=$CONCURRENCY, n=$REQUESTS ==="
+  VIRTUAL_THREADS_ENABLED=$mode docker compose up -d --force-recreate --no-deps "$SERVICE"
+  wait_healthy
+  hey -n 5000 -c 50 "$URL" > /dev/null
+  hey -n "$REQUESTS" -c "$CONCURRENCY" "$URL"
+done
@@ -0,0 +1,56 @@
+package com.ecommerce.jwt;
+
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.Locator;
+import io.jsonwebtoken.MalformedJwtException;
+import io.jsonwebtoken.UnsupportedJwtException;
+import io.jsonwebtoken.security.SecurityException;
+
+import javax.crypto.SecretKey;
+import java.security.Key;
+
+/**
+ * Immutable and thread-safe: the key and parser are built once and shared by all
+ * requests, and each token is parsed and verified exactly once.
+ */
+public final class JwtTokenVerifier {
+
+    private final JwtParser parser;
+
+    public JwtTokenVerifier(SecretKey signingKey) {
+        this.parser = Jwts.parser()
+                .verifyWith(signingKey)
+                .build();
+    }
+
+    /**
+     * Verifies with whichever key the locator resolves from the token header, e.g.
+     * by {@code kid} during key rotation.
+     */
+    public JwtTokenVerifier(Locator<Key> keyLocator) {
+        this.parser = Jwts.parser()
+                .keyLocator(keyLocator)
+                .build();
+    }
+
+    public TokenVerification verify(String token) {
+        if (token == null || token.isBlank()) {
+            return TokenVerification.failed(TokenVerification.Status.EMPTY);
+        }
+        try {
+            return TokenVerification.valid(parser.parseSignedClaims(token).getPayload());
+        } catch (ExpiredJwtException ex) {
+            return TokenVerification.failed(TokenVerification.Status.EXPIRED);
+        } catch (SecurityException ex) {
+            return TokenVerification.failed(TokenVerification.Status.INVALID_SIGNATURE);
+        } catch (MalformedJwtException ex) {
+            return TokenVerification.failed(TokenVerification.Status.MALFORMED);
+        } catch (UnsupportedJwtException ex) {
+            return TokenVerification.failed(TokenVerification.Status.UNSUPPORTED);
+        } catch (IllegalArgumentException ex) {
+            return TokenVerification.failed(TokenVerification.Status.EMPTY);
+        }
+    }
+}
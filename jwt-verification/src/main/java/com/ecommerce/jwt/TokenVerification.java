@@ -0,0 +1,32 @@
+package com.ecommerce.jwt;
+
+import io.jsonwebtoken.Claims;
+
+/**
+ * Outcome of a single token parse: the verified claims, or why there are none.
+ */
+public record TokenVerification(Status status, Claims claims) {
+
+    public enum Status {
+        VALID,
+        EXPIRED,
+        INVALID_SIGNATURE,
+        MALFORMED,
+        UNSUPPORTED,
+        EMPTY,
+        // Set by callers that track revocations (the gateway), never by the verifier
+        REVOKED
+    }
+
+    public static TokenVerification valid(Claims claims) {
+        return new TokenVerification(Status.VALID, claims);
+    }
+
+    public static TokenVerification failed(Status status) {
+        return new TokenVerification(status, null);
+    }
+
+    public boolean isValid() {
+        return status == Status.VALID;
+    }
+}
@@ -0,0 +1,13 @@
+package com.ecommerce.product_read_service;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.cloud.client.discovery.EnableDiscoveryClient;
+
+@SpringBootApplication
+@EnableDiscoveryClient
+public class ProductReadServiceApplication {
+	public static void main(String[] args) {
+		SpringApplication.run(ProductReadServiceApplication.class, args);
+	}
+}
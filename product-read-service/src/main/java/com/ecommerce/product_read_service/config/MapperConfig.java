@@ -0,0 +1,15 @@
+package com.ecommerce.product_read_service.config;
+
+import com.ecommerce.product_service.mapper.ProductMapper;
+import com.ecommerce.product_service.mapper.ProductMapperImpl;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class MapperConfig {
+
+    @Bean
+    public ProductMapper productMapper() {
+        return new ProductMapperImpl();
+    }
+}
@@ -0,0 +1,53 @@
+package com.ecommerce.product_read_service.controller;
+
+import com.ecommerce.product_read_service.service.ProductReadService;
+import com.ecommerce.product_service.dto.ProductDTO;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.web.PageableDefault;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+
+@RestController
+@RequestMapping("/api/products")
+@RequiredArgsConstructor
+@Slf4j
+public class ProductReadController {
+
+    private final ProductReadService productReadService;
+
+    @GetMapping("/{id}")
+    public Mono<ProductDTO> getProduct(@PathVariable Long id) {
+        log.debug("REST request to get product: {}", id);
+        return productReadService.getProduct(id);
+    }
+
+    @GetMapping("/sku/{sku}")
+    public Mono<ProductDTO> getProductBySku(@PathVariable String sku) {
+        log.debug("REST request to get product by SKU: {}", sku);
+        return productReadService.getProductBySku(sku);
+    }
+
+    @GetMapping
+    public Mono<Page<ProductDTO>> getAllProducts(
+            @PageableDefault(size = 20, sort = "id", direction = Sort.Direction.DESC) Pageable pageable) {
+        log.debug("REST request to get all products");
+        return productReadService.getAllProducts(pageable);
+    }
+
+    @GetMapping("/search")
+    public Mono<Page<ProductDTO>> searchProducts(
+            @RequestParam(required = false) Long categoryId,
+            @RequestParam(required = false) BigDecimal minPrice,
+            @RequestParam(required = false) BigDecimal maxPrice,
+            @RequestParam(required = false) String search,
+            @PageableDefault(size = 20, sort = "id", direction = Sort.Direction.DESC) Pageable pageable) {
+        log.debug("REST request to search products");
+        return productReadService.searchProducts(categoryId, minPrice, maxPrice, search, pageable);
+    }
+}
@@ -0,0 +1,167 @@
+package com.ecommerce.product_read_service.repository;
+
+import com.ecommerce.product_service.entity.Category;
+import com.ecommerce.product_service.entity.Product;
+import com.ecommerce.product_service.entity.ProductAttribute;
+import io.r2dbc.spi.Readable;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.StringJoiner;
+
+/**
+ * Read-only product queries over R2DBC. Rows are materialized into the
+ * product-service entity classes so the shared ProductMapper can be reused as-is.
+ */
+@Repository
+@RequiredArgsConstructor
+public class ProductReadRepository {
+
+    private static final String SELECT_PRODUCTS =
+            "SELECT p.id, p.sku, p.name, p.description, p.price, p.image_url, p.active, p.created_at, p.updated_at, " +
+            "c.id AS category_id, c.name AS category_name " +
+            "FROM products p LEFT JOIN categories c ON c.id = p.category_id ";
+
+    private static final Map<String, String> SORTABLE_COLUMNS = Map.of(
+            "id", "p.id",
+            "sku", "p.sku",
+            "name", "p.name",
+            "price", "p.price",
+            "createdAt", "p.created_at",
+            "updatedAt", "p.updated_at"
+    );
+
+    private final DatabaseClient databaseClient;
+
+    public Mono<Product> findById(Long id) {
+        return databaseClient.sql(SELECT_PRODUCTS + "WHERE p.id = :id")
+                .bind("id", id)
+                .map(this::toProduct)
+                .one()
+                .flatMap(product -> withAttributes(List.of(product)).thenReturn(product));
+    }
+
+    public Mono<Product> findBySku(String sku) {
+        return databaseClient.sql(SELECT_PRODUCTS + "WHERE p.sku = :sku")
+                .bind("sku", sku)
+                .map(this::toProduct)
+                .one()
+                .flatMap(product -> withAttributes(List.of(product)).thenReturn(product));
+    }
+
+    public Mono<List<Product>> search(ProductSearchCriteria criteria, Pageable pageable) {
+        Map<String, Object> bindings = new LinkedHashMap<>();
+        String sql = SELECT_PRODUCTS + whereClause(criteria, bindings) + orderBy(pageable.getSort()) +
+                " LIMIT " + pageable.getPageSize() + " OFFSET " + pageable.getOffset();
+
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql(sql);
+        for (Map.Entry<String, Object> binding : bindings.entrySet()) {
+            spec = spec.bind(binding.getKey(), binding.getValue());
+        }
+        return spec.map(this::toProduct)
+                .all()
+                .collectList()
+                .flatMap(products -> withAttributes(products).thenReturn(products));
+    }
+
+    public Mono<Long> count(ProductSearchCriteria criteria) {
+        Map<String, Object> bindings = new LinkedHashMap<>();
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql(
+                "SELECT COUNT(*) AS total FROM products p " + whereClause(criteria, bindings));
+        for (Map.Entry<String, Object> binding : bindings.entrySet()) {
+            spec = spec.bind(binding.getKey(), binding.getValue());
+        }
+        return spec.map(row -> row.get("total", Long.class)).one();
+    }
+
+    private Mono<Void> withAttributes(List<Product> products) {
+        if (products.isEmpty()) {
+            return Mono.empty();
+        }
+        Map<Long, Product> byId = new LinkedHashMap<>();
+        products.forEach(product -> byId.put(product.getId(), product));
+
+        // The attribute's back-reference to its product is left unset: the mapper does not
+        // need it and Lombok's hashCode would otherwise recurse through the attribute set.
+        return databaseClient.sql("SELECT product_id, name, value FROM product_attributes WHERE product_id = ANY(:ids)")
+                .bind("ids", byId.keySet().toArray(new Long[0]))
+                .map((row, metadata) -> Map.entry(
+                        row.get("product_id", Long.class),
+                        ProductAttribute.builder()
+                                .name(row.get("name", String.class))
+                                .value(row.get("value", String.class))
+                                .build()))
+                .all()
+                .doOnNext(entry -> byId.get(entry.getKey()).getAttributes().add(entry.getValue()))
+                .then();
+    }
+
+    private String whereClause(ProductSearchCriteria criteria, Map<String, Object> bindings) {
+        StringJoiner where = new StringJoiner(" AND ", "WHERE ", " ");
+        if (criteria.isActiveOnly()) {
+            where.add("p.active = true");
+        }
+        if (criteria.getCategoryId() != null) {
+            where.add("p.category_id = :categoryId");
+            bindings.put("categoryId", criteria.getCategoryId());
+        }
+        if (criteria.getMinPrice() != null) {
+            where.add("p.price >= :minPrice");
+            bindings.put("minPrice", criteria.getMinPrice());
+        }
+        if (criteria.getMaxPrice() != null) {
+            where.add("p.price <= :maxPrice");
+            bindings.put("maxPrice", criteria.getMaxPrice());
+        }
+        if (criteria.getSearch() != null) {
+            where.add("(LOWER(p.name) LIKE :search OR LOWER(p.description) LIKE :search)");
+            bindings.put("search", "%" + criteria.getSearch().toLowerCase() + "%");
+        }
+        where.setEmptyValue("");
+        return where.toString();
+    }
+
+    private String orderBy(Sort sort) {
+        StringJoiner orderBy = new StringJoiner(", ", "ORDER BY ", "");
+        for (Sort.Order order : sort) {
+            String column = SORTABLE_COLUMNS.get(order.getProperty());
+            if (column != null) {
+                orderBy.add(column + (order.isAscending() ? " ASC" : " DESC"));
+            }
+        }
+        orderBy.setEmptyValue("ORDER BY p.id DESC");
+        return orderBy.toString();
+    }
+
+    private Product toProduct(Readable row) {
+        Long categoryId = row.get("category_id", Long.class);
+        Category category = categoryId == null ? null : Category.builder()
+                .id(categoryId)
+                .name(row.get("category_name", String.class))
+                .build();
+
+        return Product.builder()
+                .id(row.get("id", Long.class))
+                .sku(row.get("sku", String.class))
+                .name(row.get("name", String.class))
+                .description(row.get("description", String.class))
+                .price(row.get("price", BigDecimal.class))
+                .imageUrl(row.get("image_url", String.class))
+                .category(category)
+                .attributes(new HashSet<>())
+                .active(row.get("active", Boolean.class))
+                .createdAt(row.get("created_at", LocalDateTime.class))
+                .updatedAt(row.get("updated_at", LocalDateTime.class))
+                .build();
+    }
+}
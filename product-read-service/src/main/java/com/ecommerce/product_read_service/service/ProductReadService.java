@@ -0,0 +1,20 @@
+package com.ecommerce.product_read_service.service;
+
+import com.ecommerce.product_service.dto.ProductDTO;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+
+public interface ProductReadService {
+
+    Mono<ProductDTO> getProduct(Long id);
+
+    Mono<ProductDTO> getProductBySku(String sku);
+
+    Mono<Page<ProductDTO>> getAllProducts(Pageable pageable);
+
+    Mono<Page<ProductDTO>> searchProducts(Long categoryId, BigDecimal minPrice,
+                                          BigDecimal maxPrice, String search, Pageable pageable);
+}
@@ -0,0 +1,100 @@
+package com.ecommerce.product_read_service.service.impl;
+
+import com.ecommerce.product_read_service.repository.ProductReadRepository;
+import com.ecommerce.product_read_service.repository.ProductSearchCriteria;
+import com.ecommerce.product_read_service.service.ProductReadService;
+import com.ecommerce.product_service.dto.ProductDTO;
+import com.ecommerce.product_service.exception.ProductNotFoundException;
+import com.ecommerce.product_service.mapper.ProductMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+
+@Service
+@Slf4j
+public class ProductReadServiceImpl implements ProductReadService {
+
+    // Same key layout as product-service's RedisCacheManager ("<cache>::<key>")
+    private static final String PRODUCTS_CACHE_PREFIX = "products::";
+
+    private final ProductReadRepository productReadRepository;
+    private final ProductMapper productMapper;
+    private final ReactiveRedisTemplate<String, Object> productCacheTemplate;
+    private final Duration cacheTtl;
+
+    public ProductReadServiceImpl(ProductReadRepository productReadRepository,
+                                  ProductMapper productMapper,
+                                  ReactiveRedisTemplate<String, Object> productCacheTemplate,
+                                  @Value("${app.cache.products-ttl:30m}") Duration cacheTtl) {
+        this.productReadRepository = productReadRepository;
+        this.productMapper = productMapper;
+        this.productCacheTemplate = productCacheTemplate;
+        this.cacheTtl = cacheTtl;
+    }
+
+    @Override
+    public Mono<ProductDTO> getProduct(Long id) {
+        log.debug("Fetching product with ID: {}", id);
+        return cached(String.valueOf(id), productReadRepository.findById(id)
+                .map(productMapper::toDTO)
+                .switchIfEmpty(Mono.error(() -> new ProductNotFoundException("Product not found with id: " + id))));
+    }
+
+    @Override
+    public Mono<ProductDTO> getProductBySku(String sku) {
+        log.debug("Fetching product with SKU: {}", sku);
+        return cached(sku, productReadRepository.findBySku(sku)
+                .map(productMapper::toDTO)
+                .switchIfEmpty(Mono.error(() -> new ProductNotFoundException("Product not found with SKU: " + sku))));
+    }
+
+    @Override
+    public Mono<Page<ProductDTO>> getAllProducts(Pageable pageable) {
+        log.debug("Fetching all active products");
+        return page(ProductSearchCriteria.builder().activeOnly(true).build(), pageable);
+    }
+
+    @Override
+    public Mono<Page<ProductDTO>> searchProducts(Long categoryId, BigDecimal minPrice,
+                                                 BigDecimal maxPrice, String search, Pageable pageable) {
+        log.debug("Searching products with filters - categoryId: {}, minPrice: {}, maxPrice: {}, search: {}",
+                categoryId, minPrice, maxPrice, search);
+        return page(ProductSearchCriteria.builder()
+                .activeOnly(true)
+                .categoryId(categoryId)
+                .minPrice(minPrice)
+                .maxPrice(maxPrice)
+                .search(search)
+                .build(), pageable);
+    }
+
+    private Mono<Page<ProductDTO>> page(ProductSearchCriteria criteria, Pageable pageable) {
+        return Mono.zip(productReadRepository.search(criteria, pageable), productReadRepository.count(criteria))
+                .<Page<ProductDTO>>map(result -> new PageImpl<>(
+                        result.getT1().stream().map(productMapper::toDTO).toList(),
+                        pageable,
+                        result.getT2()));
+    }
+
+    private Mono<ProductDTO> cached(String key, Mono<ProductDTO> loader) {
+        String cacheKey = PRODUCTS_CACHE_PREFIX + key;
+        return productCacheTemplate.opsForValue().get(cacheKey)
+                .cast(ProductDTO.class)
+                .onErrorResume(ex -> {
+                    log.warn("Product cache read failed for {}: {}", cacheKey, ex.getMessage());
+                    return Mono.empty();
+                })
+                .switchIfEmpty(Mono.defer(() -> loader.flatMap(product -> productCacheTemplate.opsForValue()
+                        .set(cacheKey, product, cacheTtl)
+                        .onErrorReturn(false)
+                        .thenReturn(product))));
+    }
+}
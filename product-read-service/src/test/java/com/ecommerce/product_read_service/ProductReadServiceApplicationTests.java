@@ -0,0 +1,13 @@
+package com.ecommerce.product_read_service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+
+@SpringBootTest
+class ProductReadServiceApplicationTests {
+
+	@Test
+	void contextLoads() {
+	}
+
+}
@@ -1,8 +1,10 @@
 package com.ecommerce.product_service.controller;
 
 import com.ecommerce.product_service.dto.CreateProductRequest;
+import com.ecommerce.product_service.dto.PriceStatsDTO;
 import com.ecommerce.product_service.dto.ProductDTO;
 import com.ecommerce.product_service.dto.UpdateProductRequest;
+import com.ecommerce.product_service.popularity.ProductPopularityService;
 import com.ecommerce.product_service.service.ProductService;
 import io.micrometer.core.annotation.Timed;
 import jakarta.validation.Valid;
@@ -26,6 +28,7 @@ import java.util.List;
 public class ProductController {
 
     private final ProductService productService;
+    private final ProductPopularityService popularityService;
 
     @PostMapping
     @Timed(value = "product.create", description = "Time taken to create product")
@@ -49,6 +52,7 @@ public class ProductController {
     public ResponseEntity<ProductDTO> getProduct(@PathVariable Long id) {
         log.debug("REST request to get product: {}", id);
         ProductDTO product = productService.getProduct(id);
+        popularityService.recordProductView(id);
         return ResponseEntity.ok(product);
     }
 
@@ -57,6 +61,7 @@ public class ProductController {
     public ResponseEntity<ProductDTO> getProductBySku(@PathVariable String sku) {
         log.debug("REST request to get product by SKU: {}", sku);
         ProductDTO product = productService.getProductBySku(sku);
+        popularityService.recordSkuView(sku);
         return ResponseEntity.ok(product);
     }
 
@@ -82,11 +87,20 @@ public class ProductController {
         return ResponseEntity.ok(products);
     }
 
+    @GetMapping("/price-stats")
+    @Timed(value = "product.priceStats", description = "Time taken to get price statistics")
+    public ResponseEntity<PriceStatsDTO> getPriceStats(@RequestParam(required = false) Long categoryId) {
+        log.debug("REST request to get price statistics for category: {}", categoryId);
+        PriceStatsDTO stats = productService.getPriceStats(categoryId);
+        return ResponseEntity.ok(stats);
+    }
+
     @PostMapping("/batch")
     @Timed(value = "product.getBatch", description = "Time taken to get products by IDs")
     public ResponseEntity<List<ProductDTO>> getProductsByIds(@RequestBody List<Long> productIds) {
         log.debug("REST request to get products by IDs: {}", productIds);
         List<ProductDTO> products = productService.getProductsByIds(productIds);
+        popularityService.recordProductViews(productIds);
         return ResponseEntity.ok(products);
     }
 
@@ -0,0 +1,16 @@
+package com.ecommerce.product_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class HotProductDTO {
+    private String key;
+    private long estimatedCount;
+    private double estimatedQps;
+}
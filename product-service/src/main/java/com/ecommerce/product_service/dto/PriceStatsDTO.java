@@ -0,0 +1,23 @@
+package com.ecommerce.product_service.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class PriceStatsDTO {
+    private Long categoryId;
+    private long count;
+    private BigDecimal minPrice;
+    private BigDecimal maxPrice;
+    private List<PriceBucketDTO> buckets;
+}
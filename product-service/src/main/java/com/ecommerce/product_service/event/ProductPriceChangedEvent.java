@@ -0,0 +1,28 @@
+package com.ecommerce.product_service.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * Published when an active product's listed price or category changes. A null
+ * previous price means the product was not listed before (created or
+ * re-activated); a null current price means it is no longer listed. The version
+ * is the product's version after the change, so a consumer that also read the
+ * product row can tell whether the row already reflects it.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductPriceChangedEvent {
+    private Long productId;
+    private Long version;
+    private Long previousCategoryId;
+    private BigDecimal previousPrice;
+    private Long currentCategoryId;
+    private BigDecimal currentPrice;
+}
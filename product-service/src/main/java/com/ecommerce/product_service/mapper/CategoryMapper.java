@@ -4,6 +4,11 @@ import com.ecommerce.product_service.dto.CategoryDTO;
 import com.ecommerce.product_service.entity.Category;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
+import org.mapstruct.Named;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
 
 @Mapper(componentModel = "spring")
 public interface CategoryMapper {
@@ -13,5 +18,18 @@ public interface CategoryMapper {
     CategoryDTO toDTO(Category category);
 
     @Mapping(source = "parent.id", target = "parentId")
+    @Mapping(source = "children", target = "children", qualifiedByName = "childrenToDTOs")
     CategoryDTO toDTOWithChildren(Category category);
-}
\ No newline at end of file
+
+    @Named("childrenToDTOs")
+    default List<CategoryDTO> childrenToDTOs(Set<Category> children) {
+        if (children == null) {
+            return null;
+        }
+        List<CategoryDTO> dtos = new ArrayList<>(children.size());
+        for (Category child : children) {
+            dtos.add(toDTOWithChildren(child));
+        }
+        return dtos;
+    }
+}
@@ -7,9 +7,11 @@ import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 import org.mapstruct.Named;
 
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
-import java.util.stream.Collectors;
 
 @Mapper(componentModel = "spring")
 public interface ProductMapper {
@@ -18,15 +20,27 @@ public interface ProductMapper {
     @Mapping(source = "attributes", target = "attributes", qualifiedByName = "attributesToMap")
     ProductDTO toDTO(Product product);
 
+    List<ProductDTO> toDTOs(List<Product> products);
+
+    /**
+     * Runs once per product on every list page, so it avoids the stream pipeline and
+     * sizes the map up front; products carry only a handful of attributes. Fails like
+     * {@code Collectors.toMap} did: on a null value and on a duplicate name.
+     */
     @Named("attributesToMap")
     default Map<String, String> attributesToMap(Set<ProductAttribute> attributes) {
         if (attributes == null || attributes.isEmpty()) {
             return null;
         }
-        return attributes.stream()
-                .collect(Collectors.toMap(
-                        ProductAttribute::getName,
-                        ProductAttribute::getValue
-                ));
+        Map<String, String> map = HashMap.newHashMap(attributes.size());
+        for (ProductAttribute attribute : attributes) {
+            String value = Objects.requireNonNull(attribute.getValue());
+            String existing = map.putIfAbsent(attribute.getName(), value);
+            if (existing != null) {
+                throw new IllegalStateException(String.format("Duplicate key %s (attempted merging values %s and %s)",
+                        attribute.getName(), existing, value));
+            }
+        }
+        return map;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,64 @@
+package com.ecommerce.product_service.popularity;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Fixed-memory, lock-free Count-Min sketch. Counters are never allocated after
+ * construction; {@link #halve()} ages every counter so old traffic fades out.
+ */
+public class CountMinSketch {
+
+    private static final long[] SEEDS = {
+            0x9E3779B97F4A7C15L, 0xC2B2AE3D27D4EB4FL, 0x165667B19E3779F9L, 0xD6E8FEB86659FD93L
+    };
+
+    private final int depth;
+    private final int widthMask;
+    private final AtomicLongArray counters;
+
+    public CountMinSketch(int width) {
+        int normalizedWidth = Integer.highestOneBit(Math.max(64, width - 1) << 1);
+        this.depth = SEEDS.length;
+        this.widthMask = normalizedWidth - 1;
+        this.counters = new AtomicLongArray(depth * normalizedWidth);
+    }
+
+    /**
+     * Increments the counters for the given hash and returns the new estimate.
+     */
+    public long increment(long hash) {
+        long estimate = Long.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            long value = counters.incrementAndGet(indexOf(row, hash));
+            estimate = Math.min(estimate, value);
+        }
+        return estimate;
+    }
+
+    public long estimate(long hash) {
+        long estimate = Long.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            estimate = Math.min(estimate, counters.get(indexOf(row, hash)));
+        }
+        return estimate;
+    }
+
+    public void halve() {
+        for (int i = 0; i < counters.length(); i++) {
+            counters.getAndUpdate(i, value -> value >>> 1);
+        }
+    }
+
+    private int indexOf(int row, long hash) {
+        return row * (widthMask + 1) + (int) (mix(hash ^ SEEDS[row]) & widthMask);
+    }
+
+    static long mix(long h) {
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33;
+        h *= 0xC4CEB9FE1A85EC53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
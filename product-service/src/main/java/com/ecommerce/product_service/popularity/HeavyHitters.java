@@ -0,0 +1,126 @@
+package com.ecommerce.product_service.popularity;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Bounded candidate set for the top-K keys of a {@link CountMinSketch}. A key is
+ * only admitted once its estimate beats the weakest candidate, so the hot path
+ * is a single map lookup for keys that are already tracked or clearly cold.
+ * <p>
+ * Lock-free: a slot is reserved in {@code size} before a key is inserted, so the
+ * map never holds more than {@code capacity} keys, and an eviction is claimed by
+ * the map's conditional remove, which only one thread can win. Estimates only
+ * grow between halvings, so the weakest candidate stays the weakest until its
+ * own estimate changes; it is published through a CAS and only rescanned once
+ * it has moved.
+ */
+public class HeavyHitters<K> {
+
+    private record Candidate<K>(K key, long estimate) {
+    }
+
+    private record Lowest<K>(Candidate<K> first, Candidate<K> second) {
+    }
+
+    private final int capacity;
+    private final ConcurrentHashMap<K, Long> candidates;
+    private final AtomicInteger size = new AtomicInteger();
+    // Null when it has to be found by a scan
+    private final AtomicReference<Candidate<K>> weakest = new AtomicReference<>();
+    private volatile long admissionThreshold;
+
+    public HeavyHitters(int capacity) {
+        this.capacity = capacity;
+        this.candidates = new ConcurrentHashMap<>(capacity * 2);
+    }
+
+    public void offer(K key, long estimate) {
+        if (candidates.replace(key, estimate) != null) {
+            return;
+        }
+        for (int reserved = size.get(); reserved < capacity; reserved = size.get()) {
+            if (size.compareAndSet(reserved, reserved + 1)) {
+                if (candidates.putIfAbsent(key, estimate) != null) {
+                    size.decrementAndGet();
+                } else {
+                    weakest.updateAndGet(current ->
+                            current != null && estimate < current.estimate() ? new Candidate<>(key, estimate) : current);
+                }
+                return;
+            }
+        }
+        if (estimate <= admissionThreshold) {
+            return;
+        }
+        admit(key, estimate);
+    }
+
+    public void halve() {
+        candidates.replaceAll((key, estimate) -> estimate >>> 1);
+        weakest.set(null);
+        admissionThreshold = admissionThreshold >>> 1;
+    }
+
+    public List<K> keys() {
+        return new ArrayList<>(candidates.keySet());
+    }
+
+    int size() {
+        return candidates.size();
+    }
+
+    private void admit(K key, long estimate) {
+        Candidate<K> evictee = weakest.get();
+        Candidate<K> runnerUp = null;
+        Long current = evictee != null ? candidates.get(evictee.key()) : null;
+        if (current == null || current != evictee.estimate()) {
+            Lowest<K> lowest = scanLowest();
+            if (!weakest.compareAndSet(evictee, lowest.first())) {
+                // Another thread published (or invalidated) the weakest meanwhile; let it win
+                return;
+            }
+            evictee = lowest.first();
+            runnerUp = lowest.second();
+        }
+        if (evictee == null || evictee.estimate() >= estimate) {
+            admissionThreshold = evictee != null ? evictee.estimate() : 0;
+            return;
+        }
+        // The conditional remove is the claim: of concurrent admissions only one evicts this entry
+        if (!candidates.remove(evictee.key(), evictee.estimate())) {
+            weakest.compareAndSet(evictee, null);
+            return;
+        }
+        // The slot stays reserved in size, so below-capacity inserts cannot take it
+        if (candidates.putIfAbsent(key, estimate) != null) {
+            size.decrementAndGet();
+        }
+
+        // Without a runner-up from this call's scan the next admission rescans
+        Candidate<K> next = runnerUp == null ? null
+                : runnerUp.estimate() <= estimate ? runnerUp : new Candidate<>(key, estimate);
+        if (weakest.compareAndSet(evictee, next)) {
+            admissionThreshold = next != null ? next.estimate() : Math.min(estimate, admissionThreshold);
+        }
+    }
+
+    private Lowest<K> scanLowest() {
+        Candidate<K> lowest = null;
+        Candidate<K> second = null;
+        for (Map.Entry<K, Long> entry : candidates.entrySet()) {
+            long value = entry.getValue();
+            if (lowest == null || value < lowest.estimate()) {
+                second = lowest;
+                lowest = new Candidate<>(entry.getKey(), value);
+            } else if (second == null || value < second.estimate()) {
+                second = new Candidate<>(entry.getKey(), value);
+            }
+        }
+        return new Lowest<>(lowest, second);
+    }
+}
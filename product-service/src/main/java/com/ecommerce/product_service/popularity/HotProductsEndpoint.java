@@ -0,0 +1,30 @@
+package com.ecommerce.product_service.popularity;
+
+import com.ecommerce.product_service.dto.HotProductDTO;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+
+@Component
+@Endpoint(id = "hotproducts")
+@RequiredArgsConstructor
+public class HotProductsEndpoint {
+
+    private static final int DEFAULT_LIMIT = 20;
+
+    private final ProductPopularityService popularityService;
+
+    @ReadOperation
+    public Map<String, List<HotProductDTO>> hotProducts(@Nullable Integer limit) {
+        int effectiveLimit = limit != null && limit > 0 ? limit : DEFAULT_LIMIT;
+        return Map.of(
+                "ids", popularityService.hottestProducts(effectiveLimit),
+                "skus", popularityService.hottestSkus(effectiveLimit)
+        );
+    }
+}
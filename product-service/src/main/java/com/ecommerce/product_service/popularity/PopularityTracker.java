@@ -0,0 +1,61 @@
+package com.ecommerce.product_service.popularity;
+
+import com.ecommerce.product_service.dto.HotProductDTO;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.ToLongFunction;
+
+/**
+ * Frequency sketch plus heavy-hitters for one key space (product ids or SKUs).
+ * Counters are halved on every decay, so a key seen at a steady rate r holds an
+ * estimate of {@code r * (interval + elapsedSinceDecay)}, which is what the QPS
+ * estimate is derived from.
+ */
+public class PopularityTracker<K> {
+
+    private final CountMinSketch sketch;
+    private final HeavyHitters<K> heavyHitters;
+    private final ToLongFunction<K> hasher;
+    private final long decayIntervalMs;
+    private volatile long lastDecayMs = System.currentTimeMillis();
+
+    public PopularityTracker(int sketchWidth, int topK, long decayIntervalMs, ToLongFunction<K> hasher) {
+        this.sketch = new CountMinSketch(sketchWidth);
+        this.heavyHitters = new HeavyHitters<>(topK);
+        this.hasher = hasher;
+        this.decayIntervalMs = decayIntervalMs;
+    }
+
+    public void record(K key) {
+        long estimate = sketch.increment(hasher.applyAsLong(key));
+        heavyHitters.offer(key, estimate);
+    }
+
+    public long estimate(K key) {
+        return sketch.estimate(hasher.applyAsLong(key));
+    }
+
+    public void decay() {
+        sketch.halve();
+        heavyHitters.halve();
+        lastDecayMs = System.currentTimeMillis();
+    }
+
+    public List<HotProductDTO> top(int limit) {
+        double windowSeconds = (decayIntervalMs + (System.currentTimeMillis() - lastDecayMs)) / 1000.0;
+        return heavyHitters.keys().stream()
+                .map(key -> {
+                    long count = estimate(key);
+                    return HotProductDTO.builder()
+                            .key(String.valueOf(key))
+                            .estimatedCount(count)
+                            .estimatedQps(count / windowSeconds)
+                            .build();
+                })
+                .filter(hot -> hot.getEstimatedCount() > 0)
+                .sorted(Comparator.comparingLong(HotProductDTO::getEstimatedCount).reversed())
+                .limit(limit)
+                .toList();
+    }
+}
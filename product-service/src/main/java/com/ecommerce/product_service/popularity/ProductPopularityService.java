@@ -0,0 +1,69 @@
+package com.ecommerce.product_service.popularity;
+
+import com.ecommerce.product_service.dto.HotProductDTO;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * In-memory product view counters. Recording a view is a handful of atomic
+ * increments; nothing is written to the database.
+ */
+@Component
+@Slf4j
+public class ProductPopularityService {
+
+    private final PopularityTracker<Long> productIds;
+    private final PopularityTracker<String> skus;
+
+    public ProductPopularityService(@Value("${app.popularity.sketch-width:16384}") int sketchWidth,
+                                    @Value("${app.popularity.top-k:100}") int topK,
+                                    @Value("${app.popularity.decay-interval-ms:60000}") long decayIntervalMs) {
+        this.productIds = new PopularityTracker<>(sketchWidth, topK, decayIntervalMs, Long::longValue);
+        this.skus = new PopularityTracker<>(sketchWidth, topK, decayIntervalMs, String::hashCode);
+    }
+
+    public void recordProductView(Long productId) {
+        if (productId != null) {
+            productIds.record(productId);
+        }
+    }
+
+    public void recordProductViews(List<Long> ids) {
+        if (ids != null) {
+            ids.forEach(this::recordProductView);
+        }
+    }
+
+    public void recordSkuView(String sku) {
+        if (sku != null) {
+            skus.record(sku);
+        }
+    }
+
+    /**
+     * Decayed view count for a product, usable as a ranking signal.
+     */
+    public long popularityScore(Long productId) {
+        return productIds.estimate(productId);
+    }
+
+    public List<HotProductDTO> hottestProducts(int limit) {
+        return productIds.top(limit);
+    }
+
+    public List<HotProductDTO> hottestSkus(int limit) {
+        return skus.top(limit);
+    }
+
+    @Scheduled(fixedDelayString = "${app.popularity.decay-interval-ms:60000}",
+            initialDelayString = "${app.popularity.decay-interval-ms:60000}")
+    public void decay() {
+        log.debug("Decaying product popularity counters");
+        productIds.decay();
+        skus.decay();
+    }
+}
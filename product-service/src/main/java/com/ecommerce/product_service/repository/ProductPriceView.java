@@ -0,0 +1,11 @@
+package com.ecommerce.product_service.repository;
+
+import java.math.BigDecimal;
+
+public interface ProductPriceView {
+    Long getId();
+    Long getVersion();
+    Boolean getActive();
+    Long getCategoryId();
+    BigDecimal getPrice();
+}
@@ -1,6 +1,7 @@
 package com.ecommerce.product_service.service;
 
 import com.ecommerce.product_service.dto.CreateProductRequest;
+import com.ecommerce.product_service.dto.PriceStatsDTO;
 import com.ecommerce.product_service.dto.ProductDTO;
 import com.ecommerce.product_service.dto.UpdateProductRequest;
 import org.springframework.data.domain.Page;
@@ -27,4 +28,6 @@ public interface ProductService {
     List<ProductDTO> getProductsByIds(List<Long> productIds);
 
     void deleteProduct(Long id);
+
+    PriceStatsDTO getPriceStats(Long categoryId);
 }
\ No newline at end of file
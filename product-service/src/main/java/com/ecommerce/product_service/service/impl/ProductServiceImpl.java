@@ -1,11 +1,13 @@
 package com.ecommerce.product_service.service.impl;
 
 import com.ecommerce.product_service.dto.CreateProductRequest;
+import com.ecommerce.product_service.dto.PriceStatsDTO;
 import com.ecommerce.product_service.dto.ProductDTO;
 import com.ecommerce.product_service.dto.UpdateProductRequest;
 import com.ecommerce.product_service.entity.Category;
 import com.ecommerce.product_service.entity.Product;
 import com.ecommerce.product_service.entity.ProductAttribute;
+import com.ecommerce.product_service.event.ProductPriceChangedEvent;
 import com.ecommerce.product_service.exception.CategoryNotFoundException;
 import com.ecommerce.product_service.exception.DuplicateSkuException;
 import com.ecommerce.product_service.exception.ProductNotFoundException;
@@ -13,13 +15,16 @@ import com.ecommerce.product_service.mapper.ProductMapper;
 import com.ecommerce.product_service.repository.CategoryRepository;
 import com.ecommerce.product_service.repository.ProductRepository;
 import com.ecommerce.product_service.service.ProductService;
+import com.ecommerce.product_service.stats.PriceStatsAggregate;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
@@ -36,6 +41,8 @@ public class ProductServiceImpl implements ProductService {
     private final ProductRepository productRepository;
     private final CategoryRepository categoryRepository;
     private final ProductMapper productMapper;
+    private final PriceStatsAggregate priceStatsAggregate;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     public ProductDTO createProduct(CreateProductRequest request) {
@@ -73,9 +80,16 @@ public class ProductServiceImpl implements ProductService {
             product.setAttributes(attributes);
         }
 
-        Product savedProduct = productRepository.save(product);
+        Product savedProduct = productRepository.saveAndFlush(product);
         log.info("Product created successfully with ID: {}", savedProduct.getId());
 
+        eventPublisher.publishEvent(ProductPriceChangedEvent.builder()
+                .productId(savedProduct.getId())
+                .version(savedProduct.getVersion())
+                .currentCategoryId(category.getId())
+                .currentPrice(savedProduct.getPrice())
+                .build());
+
         return productMapper.toDTO(savedProduct);
     }
 
@@ -87,6 +101,11 @@ public class ProductServiceImpl implements ProductService {
         Product product = productRepository.findById(id)
                 .orElseThrow(() -> new ProductNotFoundException("Product not found with id: " + id));
 
+        ProductPriceChangedEvent.ProductPriceChangedEventBuilder priceChange = ProductPriceChangedEvent.builder()
+                .productId(id)
+                .previousCategoryId(categoryIdOf(product))
+                .previousPrice(Boolean.TRUE.equals(product.getActive()) ? product.getPrice() : null);
+
         // Update fields if provided
         if (request.getName() != null) {
             product.setName(request.getName());
@@ -124,9 +143,16 @@ public class ProductServiceImpl implements ProductService {
             product.setAttributes(newAttributes);
         }
 
-        Product updatedProduct = productRepository.save(product);
+        // Flushed so the event carries the incremented version
+        Product updatedProduct = productRepository.saveAndFlush(product);
         log.info("Product updated successfully with ID: {}", updatedProduct.getId());
 
+        eventPublisher.publishEvent(priceChange
+                .version(updatedProduct.getVersion())
+                .currentCategoryId(categoryIdOf(updatedProduct))
+                .currentPrice(Boolean.TRUE.equals(updatedProduct.getActive()) ? updatedProduct.getPrice() : null)
+                .build());
+
         return productMapper.toDTO(updatedProduct);
     }
 
@@ -167,9 +193,7 @@ public class ProductServiceImpl implements ProductService {
     @Override
     public List<ProductDTO> getProductsByIds(List<Long> productIds) {
         log.debug("Fetching products by IDs: {}", productIds);
-        return productRepository.findByIdIn(productIds).stream()
-                .map(productMapper::toDTO)
-                .collect(Collectors.toList());
+        return productMapper.toDTOs(productRepository.findByIdIn(productIds));
     }
 
     @Override
@@ -179,9 +203,31 @@ public class ProductServiceImpl implements ProductService {
         Product product = productRepository.findById(id)
                 .orElseThrow(() -> new ProductNotFoundException("Product not found with id: " + id));
 
+        boolean wasActive = Boolean.TRUE.equals(product.getActive());
+
         // Soft delete
         product.setActive(false);
-        productRepository.save(product);
+        Product deletedProduct = productRepository.saveAndFlush(product);
         log.info("Product soft deleted with ID: {}", id);
+
+        if (wasActive) {
+            eventPublisher.publishEvent(ProductPriceChangedEvent.builder()
+                    .productId(id)
+                    .version(deletedProduct.getVersion())
+                    .previousCategoryId(categoryIdOf(product))
+                    .previousPrice(product.getPrice())
+                    .build());
+        }
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public PriceStatsDTO getPriceStats(Long categoryId) {
+        log.debug("Fetching price statistics for category: {}", categoryId);
+        return priceStatsAggregate.getStats(categoryId);
+    }
+
+    private Long categoryIdOf(Product product) {
+        return product.getCategory() != null ? product.getCategory().getId() : null;
     }
 }
\ No newline at end of file
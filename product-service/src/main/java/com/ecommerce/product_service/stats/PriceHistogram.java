@@ -0,0 +1,96 @@
+package com.ecommerce.product_service.stats;
+
+import com.ecommerce.product_service.dto.PriceBucketDTO;
+import com.ecommerce.product_service.dto.PriceStatsDTO;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.TreeMap;
+
+/**
+ * Incrementally maintained price distribution for one category. Prices are kept
+ * as a multiset of cents so min/max stay exact after removals, and bucket counts
+ * use a 1-2-5 log scale (1, 2, 5, 10, 20, 50, ...) that maps well onto sliders.
+ */
+class PriceHistogram {
+
+    private static final long[] BUCKET_BOUNDS_CENTS = bucketBounds();
+
+    private final TreeMap<Long, Long> pricesInCents = new TreeMap<>();
+    private final long[] bucketCounts = new long[BUCKET_BOUNDS_CENTS.length + 1];
+    private long count;
+
+    synchronized void add(BigDecimal price) {
+        long cents = toCents(price);
+        pricesInCents.merge(cents, 1L, Long::sum);
+        bucketCounts[bucketOf(cents)]++;
+        count++;
+    }
+
+    synchronized void remove(BigDecimal price) {
+        long cents = toCents(price);
+        if (!pricesInCents.containsKey(cents)) {
+            return;
+        }
+        pricesInCents.computeIfPresent(cents, (key, value) -> value > 1 ? value - 1 : null);
+        bucketCounts[bucketOf(cents)]--;
+        count--;
+    }
+
+    synchronized PriceStatsDTO snapshot(Long categoryId) {
+        PriceStatsDTO.PriceStatsDTOBuilder stats = PriceStatsDTO.builder()
+                .categoryId(categoryId)
+                .count(count)
+                .buckets(List.of());
+        if (pricesInCents.isEmpty()) {
+            return stats.build();
+        }
+
+        long minCents = pricesInCents.firstKey();
+        long maxCents = pricesInCents.lastKey();
+        int firstBucket = bucketOf(minCents);
+        int lastBucket = bucketOf(maxCents);
+
+        List<PriceBucketDTO> buckets = new ArrayList<>(lastBucket - firstBucket + 1);
+        for (int bucket = firstBucket; bucket <= lastBucket; bucket++) {
+            buckets.add(PriceBucketDTO.builder()
+                    .lowerBound(bucket == 0 ? BigDecimal.ZERO.setScale(2) : fromCents(BUCKET_BOUNDS_CENTS[bucket - 1]))
+                    .upperBound(bucket < BUCKET_BOUNDS_CENTS.length ? fromCents(BUCKET_BOUNDS_CENTS[bucket]) : null)
+                    .count(bucketCounts[bucket])
+                    .build());
+        }
+
+        return stats
+                .minPrice(fromCents(minCents))
+                .maxPrice(fromCents(maxCents))
+                .buckets(buckets)
+                .build();
+    }
+
+    private static int bucketOf(long cents) {
+        int index = Arrays.binarySearch(BUCKET_BOUNDS_CENTS, cents);
+        return index >= 0 ? index + 1 : -index - 1;
+    }
+
+    private static long toCents(BigDecimal price) {
+        return price.setScale(2, RoundingMode.HALF_UP).unscaledValue().longValue();
+    }
+
+    private static BigDecimal fromCents(long cents) {
+        return BigDecimal.valueOf(cents, 2);
+    }
+
+    private static long[] bucketBounds() {
+        // 1-2-5 series from 1.00 up to 10^10 (DECIMAL(10, 2) tops out below that)
+        List<Long> bounds = new ArrayList<>();
+        for (long decade = 100; decade <= 1_000_000_000_000L; decade *= 10) {
+            bounds.add(decade);
+            bounds.add(decade * 2);
+            bounds.add(decade * 5);
+        }
+        return bounds.stream().mapToLong(Long::longValue).toArray();
+    }
+}
@@ -0,0 +1,173 @@
+package com.ecommerce.product_service.stats;
+
+import com.ecommerce.product_service.dto.PriceStatsDTO;
+import com.ecommerce.product_service.event.ProductPriceChangedEvent;
+import com.ecommerce.product_service.repository.ProductPriceView;
+import com.ecommerce.product_service.repository.ProductRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * Per-category price statistics for active products, held in memory. Built from
+ * one streaming scan at startup and kept current from committed product changes.
+ * Changes delivered while the scan runs are buffered and replayed afterwards,
+ * skipping those whose product version the scan had already read, so nothing is
+ * counted twice. Changes delivered before a scan starts are in its snapshot and
+ * are dropped. A failed scan is retried until one succeeds.
+ */
+@Component
+@Slf4j
+public class PriceStatsAggregate {
+
+    private enum State { NOT_BUILT, BUILDING, READY }
+
+    private final ProductRepository productRepository;
+    private final TransactionTemplate readOnlyTransaction;
+
+    private final ConcurrentHashMap<Long, PriceHistogram> byCategory = new ConcurrentHashMap<>();
+    private volatile PriceHistogram allProducts = new PriceHistogram();
+    private final List<ProductPriceChangedEvent> pendingChanges = new ArrayList<>();
+    private volatile State state = State.NOT_BUILT;
+    private volatile boolean started;
+
+    public PriceStatsAggregate(ProductRepository productRepository, PlatformTransactionManager transactionManager) {
+        this.productRepository = productRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        started = true;
+        rebuild();
+    }
+
+    @Scheduled(fixedDelayString = "${app.price-stats.rebuild-retry-interval-ms:30000}")
+    public void retryRebuild() {
+        if (started && state == State.NOT_BUILT) {
+            rebuild();
+        }
+    }
+
+    private void rebuild() {
+        synchronized (pendingChanges) {
+            if (state != State.NOT_BUILT) {
+                return;
+            }
+            state = State.BUILDING;
+        }
+        log.info("Building price statistics from products");
+        boolean built = false;
+        try {
+            // Versions of every product as scanned, to tell which buffered changes it already saw
+            Map<Long, Long> scannedVersions = new HashMap<>();
+            AtomicLong scanned = new AtomicLong();
+            readOnlyTransaction.executeWithoutResult(status -> {
+                try (Stream<ProductPriceView> products = productRepository.streamPrices()) {
+                    products.forEach(view -> {
+                        scannedVersions.put(view.getId(), view.getVersion());
+                        if (Boolean.TRUE.equals(view.getActive())) {
+                            add(view.getCategoryId(), view.getPrice());
+                            scanned.incrementAndGet();
+                        }
+                    });
+                }
+            });
+
+            int replayed = 0;
+            synchronized (pendingChanges) {
+                for (ProductPriceChangedEvent change : pendingChanges) {
+                    Long scannedVersion = scannedVersions.get(change.getProductId());
+                    if (scannedVersion == null || change.getVersion() == null || change.getVersion() > scannedVersion) {
+                        apply(change);
+                        replayed++;
+                    }
+                }
+                pendingChanges.clear();
+                state = State.READY;
+            }
+            built = true;
+            log.info("Price statistics built from {} active products across {} categories, {} changes replayed",
+                    scanned.get(), byCategory.size(), replayed);
+        } catch (RuntimeException ex) {
+            log.error("Could not build price statistics, retrying later: {}", ex.getMessage());
+        } finally {
+            if (!built) {
+                synchronized (pendingChanges) {
+                    pendingChanges.clear();
+                    byCategory.clear();
+                    allProducts = new PriceHistogram();
+                    state = State.NOT_BUILT;
+                }
+            }
+        }
+    }
+
+    @TransactionalEventListener
+    public void onPriceChanged(ProductPriceChangedEvent event) {
+        if (state != State.READY) {
+            synchronized (pendingChanges) {
+                if (state == State.BUILDING) {
+                    pendingChanges.add(event);
+                    return;
+                }
+                if (state == State.NOT_BUILT) {
+                    // No scan is running, so the next one will include this change
+                    return;
+                }
+            }
+        }
+        apply(event);
+    }
+
+    private void apply(ProductPriceChangedEvent event) {
+        if (event.getPreviousPrice() != null) {
+            remove(event.getPreviousCategoryId(), event.getPreviousPrice());
+        }
+        if (event.getCurrentPrice() != null) {
+            add(event.getCurrentCategoryId(), event.getCurrentPrice());
+        }
+    }
+
+    public PriceStatsDTO getStats(Long categoryId) {
+        if (categoryId == null) {
+            return allProducts.snapshot(null);
+        }
+        PriceHistogram histogram = byCategory.get(categoryId);
+        return histogram != null
+                ? histogram.snapshot(categoryId)
+                : PriceStatsDTO.builder().categoryId(categoryId).count(0).buckets(List.of()).build();
+    }
+
+    private void add(Long categoryId, BigDecimal price) {
+        allProducts.add(price);
+        if (categoryId != null) {
+            byCategory.computeIfAbsent(categoryId, id -> new PriceHistogram()).add(price);
+        }
+    }
+
+    private void remove(Long categoryId, BigDecimal price) {
+        allProducts.remove(price);
+        if (categoryId != null) {
+            PriceHistogram histogram = byCategory.get(categoryId);
+            if (histogram != null) {
+                histogram.remove(price);
+            }
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.ecommerce.product_service.popularity;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CountMinSketchTest {
+
+    @Test
+    void estimateNeverUndercounts() {
+        CountMinSketch sketch = new CountMinSketch(256);
+        for (long key = 0; key < 1_000; key++) {
+            for (int i = 0; i <= key % 7; i++) {
+                sketch.increment(key);
+            }
+        }
+
+        for (long key = 0; key < 1_000; key++) {
+            assertThat(sketch.estimate(key)).isGreaterThanOrEqualTo(key % 7 + 1);
+        }
+    }
+
+    @Test
+    void incrementReturnsTheNewEstimate() {
+        CountMinSketch sketch = new CountMinSketch(1_024);
+
+        assertThat(sketch.increment(42)).isEqualTo(1);
+        assertThat(sketch.increment(42)).isEqualTo(2);
+        assertThat(sketch.estimate(42)).isEqualTo(2);
+        assertThat(sketch.estimate(43)).isZero();
+    }
+
+    @Test
+    void halveAgesEveryCounter() {
+        CountMinSketch sketch = new CountMinSketch(1_024);
+        for (int i = 0; i < 10; i++) {
+            sketch.increment(7);
+        }
+        sketch.increment(8);
+
+        sketch.halve();
+
+        assertThat(sketch.estimate(7)).isEqualTo(5);
+        assertThat(sketch.estimate(8)).isZero();
+    }
+}
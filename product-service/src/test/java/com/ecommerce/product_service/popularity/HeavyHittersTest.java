@@ -0,0 +1,88 @@
+package com.ecommerce.product_service.popularity;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HeavyHittersTest {
+
+    @Test
+    void evictsTheWeakestCandidateForAStrongerKey() {
+        HeavyHitters<String> hitters = new HeavyHitters<>(3);
+        hitters.offer("a", 1);
+        hitters.offer("b", 2);
+        hitters.offer("c", 3);
+
+        hitters.offer("d", 10);
+
+        assertThat(hitters.keys()).containsExactlyInAnyOrder("b", "c", "d");
+    }
+
+    @Test
+    void rejectsKeysThatDoNotBeatTheWeakestCandidate() {
+        HeavyHitters<String> hitters = new HeavyHitters<>(2);
+        hitters.offer("a", 5);
+        hitters.offer("b", 6);
+
+        hitters.offer("c", 5);
+        hitters.offer("d", 1);
+
+        assertThat(hitters.keys()).containsExactlyInAnyOrder("a", "b");
+    }
+
+    @Test
+    void tracksTheHottestKeysOfASkewedStream() {
+        CountMinSketch sketch = new CountMinSketch(1_024);
+        HeavyHitters<Long> hitters = new HeavyHitters<>(10);
+        long coldKey = 1_000;
+        for (int round = 0; round < 1_000; round++) {
+            for (long hotKey = 0; hotKey < 5; hotKey++) {
+                hitters.offer(hotKey, sketch.increment(hotKey));
+            }
+            hitters.offer(coldKey, sketch.increment(coldKey));
+            coldKey++;
+        }
+
+        assertThat(hitters.keys()).contains(0L, 1L, 2L, 3L, 4L);
+        assertThat(hitters.size()).isLessThanOrEqualTo(10);
+    }
+
+    @Test
+    void neverExceedsCapacityUnderConcurrentOffers() throws InterruptedException {
+        int capacity = 16;
+        int threads = 8;
+        HeavyHitters<Integer> hitters = new HeavyHitters<>(capacity);
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        for (int t = 0; t < threads; t++) {
+            executor.execute(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                for (int i = 0; i < 50_000; i++) {
+                    hitters.offer(random.nextInt(1_000), random.nextLong(1_000));
+                    if (i % 10_000 == 0) {
+                        hitters.halve();
+                    }
+                }
+            });
+        }
+
+        start.countDown();
+        executor.shutdown();
+        assertThat(executor.awaitTermination(30, TimeUnit.SECONDS)).isTrue();
+
+        assertThat(hitters.size()).isLessThanOrEqualTo(capacity);
+        assertThat(hitters.keys()).hasSizeLessThanOrEqualTo(capacity).doesNotHaveDuplicates();
+    }
+}
@@ -0,0 +1,88 @@
+package com.ecommerce.product_service.stats;
+
+import com.ecommerce.product_service.dto.PriceBucketDTO;
+import com.ecommerce.product_service.dto.PriceStatsDTO;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+class PriceHistogramTest {
+
+    @Test
+    void emptyHistogramHasNoRange() {
+        PriceStatsDTO stats = new PriceHistogram().snapshot(1L);
+
+        assertThat(stats.getCategoryId()).isEqualTo(1L);
+        assertThat(stats.getCount()).isZero();
+        assertThat(stats.getMinPrice()).isNull();
+        assertThat(stats.getMaxPrice()).isNull();
+        assertThat(stats.getBuckets()).isEmpty();
+    }
+
+    @Test
+    void bucketsFollowTheOneTwoFiveScale() {
+        PriceHistogram histogram = new PriceHistogram();
+        histogram.add(new BigDecimal("0.50"));
+        histogram.add(new BigDecimal("1.00"));
+        histogram.add(new BigDecimal("1.50"));
+        histogram.add(new BigDecimal("3.00"));
+
+        PriceStatsDTO stats = histogram.snapshot(null);
+
+        assertThat(stats.getCount()).isEqualTo(4);
+        assertThat(stats.getMinPrice()).isEqualByComparingTo("0.50");
+        assertThat(stats.getMaxPrice()).isEqualByComparingTo("3.00");
+        assertThat(stats.getBuckets())
+                .extracting(PriceBucketDTO::getLowerBound, PriceBucketDTO::getUpperBound, PriceBucketDTO::getCount)
+                .containsExactly(
+                        tuple(new BigDecimal("0.00"), new BigDecimal("1.00"), 1L),
+                        tuple(new BigDecimal("1.00"), new BigDecimal("2.00"), 2L),
+                        tuple(new BigDecimal("2.00"), new BigDecimal("5.00"), 1L));
+    }
+
+    @Test
+    void removalKeepsMinAndMaxExact() {
+        PriceHistogram histogram = new PriceHistogram();
+        histogram.add(new BigDecimal("10.00"));
+        histogram.add(new BigDecimal("10.00"));
+        histogram.add(new BigDecimal("20.00"));
+
+        histogram.remove(new BigDecimal("20.00"));
+        histogram.remove(new BigDecimal("10.00"));
+
+        PriceStatsDTO stats = histogram.snapshot(null);
+        assertThat(stats.getCount()).isEqualTo(1);
+        assertThat(stats.getMinPrice()).isEqualByComparingTo("10.00");
+        assertThat(stats.getMaxPrice()).isEqualByComparingTo("10.00");
+        assertThat(stats.getBuckets())
+                .extracting(PriceBucketDTO::getCount)
+                .containsExactly(1L);
+    }
+
+    @Test
+    void removingAnUnknownPriceIsIgnored() {
+        PriceHistogram histogram = new PriceHistogram();
+        histogram.add(new BigDecimal("4.99"));
+
+        histogram.remove(new BigDecimal("5.00"));
+
+        PriceStatsDTO stats = histogram.snapshot(null);
+        assertThat(stats.getCount()).isEqualTo(1);
+        assertThat(stats.getBuckets())
+                .extracting(PriceBucketDTO::getCount)
+                .containsExactly(1L);
+    }
+
+    @Test
+    void pricesAreRoundedToCents() {
+        PriceHistogram histogram = new PriceHistogram();
+        histogram.add(new BigDecimal("1.995"));
+
+        histogram.remove(new BigDecimal("2.00"));
+
+        assertThat(histogram.snapshot(null).getCount()).isZero();
+    }
+}
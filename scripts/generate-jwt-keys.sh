@@ -0,0 +1,20 @@
+#!/usr/bin/env bash
+# Generates an Ed25519 token signing key pair for user-service, and the token the
+# gateway uses to read user-service's revocation feed, in .env format.
+# Requires OpenSSL 1.1.1 or later.
+#
+#   ./scripts/generate-jwt-keys.sh >> .env
+#
+# To rotate, keep the previous key listed as app.jwt.signing.keys[1] until tokens it
+# signed have expired (see JwtSigningProperties).
+set -euo pipefail
+
+KEY_ID=${1:-key-$(date -u +%Y%m%d)}
+PRIVATE_DER=$(mktemp)
+trap 'rm -f "$PRIVATE_DER"' EXIT
+
+openssl genpkey -algorithm ed25519 -outform DER -out "$PRIVATE_DER"
+echo "JWT_ACTIVE_KEY_ID=$KEY_ID"
+echo "JWT_PRIVATE_KEY=$(base64 < "$PRIVATE_DER" | tr -d '\n')"
+echo "JWT_PUBLIC_KEY=$(openssl pkey -inform DER -in "$PRIVATE_DER" -pubout -outform DER | base64 | tr -d '\n')"
+echo "INTERNAL_API_TOKEN=$(openssl rand -base64 32 | tr -d '\n')"
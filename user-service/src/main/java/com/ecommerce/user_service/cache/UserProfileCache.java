@@ -0,0 +1,224 @@
+package com.ecommerce.user_service.cache;
+
+import com.ecommerce.user_service.config.RabbitMQConfig;
+import com.ecommerce.user_service.dto.UserDTO;
+import com.ecommerce.user_service.event.UserEvent;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.AmqpException;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Read cache for user profiles. Profiles live in a local Caffeine cache keyed by id,
+ * with a username to id index next to it (usernames never change), optionally backed
+ * by Redis so a cold replica does not go to Postgres. Writes call {@link #evict},
+ * which drops the local and Redis entries after commit and broadcasts the eviction
+ * on the {@code user-events} exchange so the other replicas drop theirs too.
+ */
+@Component
+@Slf4j
+public class UserProfileCache {
+
+    private static final String ID_KEY = "user-profile:id:";
+    private static final String USERNAME_KEY = "user-profile:username:";
+    private static final String INVALIDATED = "PROFILE_INVALIDATED";
+
+    private final RabbitTemplate rabbitTemplate;
+    private final StringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final boolean redisEnabled;
+    private final Duration ttl;
+    private final Cache<Long, UserDTO> profiles;
+    private final Cache<String, Long> usernameIds;
+    private final Counter redisHits;
+    private final Counter redisMisses;
+    private final List<Consumer<Long>> invalidationListeners = new CopyOnWriteArrayList<>();
+
+    public UserProfileCache(RabbitTemplate rabbitTemplate,
+                            StringRedisTemplate redisTemplate,
+                            ObjectMapper objectMapper,
+                            MeterRegistry meterRegistry,
+                            @Value("${app.user-profile-cache.max-size:100000}") long maxSize,
+                            @Value("${app.user-profile-cache.ttl:10m}") Duration ttl,
+                            @Value("${app.user-profile-cache.redis.enabled:false}") boolean redisEnabled) {
+        this.rabbitTemplate = rabbitTemplate;
+        this.redisTemplate = redisTemplate;
+        this.objectMapper = objectMapper;
+        this.redisEnabled = redisEnabled;
+        this.ttl = ttl;
+        this.profiles = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        this.usernameIds = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, profiles, "userProfiles");
+        this.redisHits = Counter.builder("user.profile.cache.redis")
+                .tag("result", "hit")
+                .register(meterRegistry);
+        this.redisMisses = Counter.builder("user.profile.cache.redis")
+                .tag("result", "miss")
+                .register(meterRegistry);
+    }
+
+    public UserDTO getById(Long id, Supplier<UserDTO> loader) {
+        return profiles.get(id, key -> fromRedis(key).orElseGet(() -> store(loader.get())));
+    }
+
+    public UserDTO getByUsername(String username, Supplier<UserDTO> loader) {
+        Long id = usernameIds.get(username, this::idFromRedis);
+        if (id != null) {
+            UserDTO cached = profiles.getIfPresent(id);
+            if (cached == null) {
+                cached = fromRedis(id).orElse(null);
+            }
+            if (cached != null) {
+                profiles.put(id, cached);
+                return cached;
+            }
+        }
+        UserDTO loaded = store(loader.get());
+        profiles.put(loaded.getId(), loaded);
+        return loaded;
+    }
+
+    /**
+     * Drops a profile here, in Redis and on every other replica once the current
+     * transaction (if any) has committed.
+     */
+    public void evict(Long userId) {
+        String username = usernameOf(userId);
+        profiles.invalidate(userId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    evictEverywhere(userId, username);
+                }
+            });
+        } else {
+            evictEverywhere(userId, username);
+        }
+    }
+
+    /**
+     * Registers a per-user cache that must be dropped whenever a profile is
+     * invalidated here or on another replica.
+     */
+    public void addInvalidationListener(Consumer<Long> listener) {
+        invalidationListeners.add(listener);
+    }
+
+    @RabbitListener(queues = "#{profileInvalidationQueue.name}")
+    public void onInvalidation(UserEvent event) {
+        if (INVALIDATED.equals(event.getEventType()) && event.getUserId() != null) {
+            profiles.invalidate(event.getUserId());
+            if (event.getUsername() != null) {
+                usernameIds.invalidate(event.getUsername());
+            }
+            invalidationListeners.forEach(listener -> listener.accept(event.getUserId()));
+        }
+    }
+
+    private void evictEverywhere(Long userId, String username) {
+        profiles.invalidate(userId);
+        if (username != null) {
+            usernameIds.invalidate(username);
+        }
+        if (redisEnabled) {
+            try {
+                redisTemplate.delete(username == null
+                        ? List.of(ID_KEY + userId)
+                        : List.of(ID_KEY + userId, USERNAME_KEY + username));
+            } catch (RuntimeException ex) {
+                log.warn("Could not evict profile {} from Redis: {}", userId, ex.getMessage());
+            }
+        }
+        try {
+            rabbitTemplate.convertAndSend(RabbitMQConfig.USER_EXCHANGE, RabbitMQConfig.PROFILE_INVALIDATED_ROUTING_KEY,
+                    UserEvent.builder()
+                            .userId(userId)
+                            .username(username)
+                            .eventType(INVALIDATED)
+                            .timestamp(LocalDateTime.now())
+                            .build());
+        } catch (AmqpException ex) {
+            // Other replicas fall back to the TTL
+            log.warn("Could not broadcast profile invalidation for user {}: {}", userId, ex.getMessage());
+        }
+    }
+
+    // Without a cached profile there is no username to evict; its Redis index entry
+    // then expires with the same TTL the profile had
+    private String usernameOf(Long userId) {
+        UserDTO cached = profiles.getIfPresent(userId);
+        if (cached == null) {
+            cached = fromRedis(userId).orElse(null);
+        }
+        return cached == null ? null : cached.getUsername();
+    }
+
+    private UserDTO store(UserDTO profile) {
+        usernameIds.put(profile.getUsername(), profile.getId());
+        if (redisEnabled) {
+            try {
+                redisTemplate.opsForValue().set(ID_KEY + profile.getId(), objectMapper.writeValueAsString(profile), ttl);
+                redisTemplate.opsForValue().set(USERNAME_KEY + profile.getUsername(), profile.getId().toString(), ttl);
+            } catch (JsonProcessingException | RuntimeException ex) {
+                log.warn("Could not store profile {} in Redis: {}", profile.getId(), ex.getMessage());
+            }
+        }
+        return profile;
+    }
+
+    private Optional<UserDTO> fromRedis(Long id) {
+        return readRedis(ID_KEY + id, json -> {
+            try {
+                return objectMapper.readValue(json, UserDTO.class);
+            } catch (JsonProcessingException ex) {
+                throw new IllegalStateException(ex);
+            }
+        });
+    }
+
+    private Long idFromRedis(String username) {
+        return readRedis(USERNAME_KEY + username, Long::valueOf).orElse(null);
+    }
+
+    private <T> Optional<T> readRedis(String key, Function<String, T> parser) {
+        if (!redisEnabled) {
+            return Optional.empty();
+        }
+        try {
+            String value = redisTemplate.opsForValue().get(key);
+            (value == null ? redisMisses : redisHits).increment();
+            return Optional.ofNullable(value).map(parser);
+        } catch (RuntimeException ex) {
+            log.warn("Profile cache read from Redis failed: {}", ex.getMessage());
+            return Optional.empty();
+        }
+    }
+}
@@ -1,19 +1,35 @@
 package com.ecommerce.user_service.config;
 
+import com.ecommerce.user_service.event.EventBatchMessageConverter;
+import com.ecommerce.user_service.outbox.EventBatchCodec;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.amqp.core.*;
+import org.springframework.amqp.rabbit.config.SimpleRabbitListenerContainerFactory;
 import org.springframework.amqp.rabbit.connection.ConnectionFactory;
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.amqp.support.converter.ContentTypeDelegatingMessageConverter;
 import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
 import org.springframework.amqp.support.converter.MessageConverter;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
 @Configuration
 public class RabbitMQConfig {
 
     public static final String USER_EXCHANGE = "user-events";
     public static final String USER_REGISTERED_QUEUE = "user-registered-queue";
     public static final String EMAIL_VERIFIED_QUEUE = "email-verified-queue";
+    public static final String PROFILE_INVALIDATED_ROUTING_KEY = "user.profile.invalidated";
+    public static final String RETRY_QUEUE_SUFFIX = ".retry";
+    public static final String DEAD_LETTER_QUEUE_SUFFIX = ".dlq";
+    public static final String BATCH_LISTENER_CONTAINER_FACTORY = "batchListenerContainerFactory";
 
     @Bean
     public TopicExchange userExchange() {
@@ -46,15 +62,115 @@ public class RabbitMQConfig {
                 .with("user.email.verified");
     }
 
+    // Failed deliveries wait out their backoff in a retry queue, then expire back into
+    // the work queue through the default exchange. There is one retry queue per backoff
+    // tier with a queue-level TTL, because RabbitMQ only expires messages at the head of
+    // a queue: a short retry must never sit behind a longer one. The TTL is part of the
+    // name, so changing the backoff settings declares new tiers instead of failing on
+    // the old ones. Messages out of attempts are parked in the .dlq queue. Republishing
+    // explicitly leaves the arguments of the existing work queues untouched.
+    @Bean
+    public Declarables retryQueues(
+            @Value("${app.events.consumer.max-attempts:5}") int maxAttempts,
+            @Value("${app.events.consumer.initial-backoff:1s}") Duration initialBackoff,
+            @Value("${app.events.consumer.backoff-multiplier:4}") double backoffMultiplier,
+            @Value("${app.events.consumer.max-backoff:5m}") Duration maxBackoff) {
+        List<Declarable> queues = new ArrayList<>();
+        for (String workQueue : List.of(USER_REGISTERED_QUEUE, EMAIL_VERIFIED_QUEUE)) {
+            Set<Duration> tiers = new LinkedHashSet<>();
+            for (int attempt = 1; attempt < maxAttempts; attempt++) {
+                tiers.add(retryBackoff(attempt, initialBackoff, backoffMultiplier, maxBackoff));
+            }
+            for (Duration backoff : tiers) {
+                queues.add(QueueBuilder.durable(retryQueueName(workQueue, backoff))
+                        .ttl((int) backoff.toMillis())
+                        .deadLetterExchange("")
+                        .deadLetterRoutingKey(workQueue)
+                        .build());
+            }
+        }
+        return new Declarables(queues);
+    }
+
+    @Bean
+    public Queue userRegisteredDeadLetterQueue() {
+        return new Queue(USER_REGISTERED_QUEUE + DEAD_LETTER_QUEUE_SUFFIX, true);
+    }
+
+    @Bean
+    public Queue emailVerifiedDeadLetterQueue() {
+        return new Queue(EMAIL_VERIFIED_QUEUE + DEAD_LETTER_QUEUE_SUFFIX, true);
+    }
+
+    /**
+     * Delay before retry number {@code attempt} (1-based): exponential, capped.
+     */
+    public static Duration retryBackoff(int attempt, Duration initialBackoff, double multiplier, Duration maxBackoff) {
+        double millis = initialBackoff.toMillis() * Math.pow(multiplier, attempt - 1);
+        return Duration.ofMillis((long) Math.min(millis, maxBackoff.toMillis()));
+    }
+
+    public static String retryQueueName(String workQueue, Duration backoff) {
+        return workQueue + RETRY_QUEUE_SUFFIX + "." + backoff.toMillis() + "ms";
+    }
+
+    // One exclusive, auto-delete queue per replica so every instance sees every eviction
+    @Bean
+    public Queue profileInvalidationQueue() {
+        return new AnonymousQueue();
+    }
+
+    @Bean
+    public Binding profileInvalidationBinding() {
+        return BindingBuilder
+                .bind(profileInvalidationQueue())
+                .to(userExchange())
+                .with(PROFILE_INVALIDATED_ROUTING_KEY);
+    }
+
+    // Chosen by the message's content type: JSON by default, outbox batches when
+    // the relay sent several events in one message
     @Bean
-    public MessageConverter jsonMessageConverter() {
-        return new Jackson2JsonMessageConverter();
+    public MessageConverter jsonMessageConverter(ObjectMapper objectMapper) {
+        ContentTypeDelegatingMessageConverter converter =
+                new ContentTypeDelegatingMessageConverter(new Jackson2JsonMessageConverter());
+        converter.addDelegate(EventBatchCodec.CONTENT_TYPE, new EventBatchMessageConverter(objectMapper));
+        return converter;
+    }
+
+    /**
+     * Consumers receive up to {@code batch-size} messages at once, or whatever arrived
+     * within {@code receive-timeout}, and the whole batch is acknowledged with one
+     * multiple-ack when the listener returns.
+     */
+    @Bean(BATCH_LISTENER_CONTAINER_FACTORY)
+    public SimpleRabbitListenerContainerFactory batchListenerContainerFactory(
+            ConnectionFactory connectionFactory,
+            @Value("${app.events.consumer.prefetch:250}") int prefetch,
+            @Value("${app.events.consumer.concurrency:1}") int concurrency,
+            @Value("${app.events.consumer.max-concurrency:4}") int maxConcurrency,
+            @Value("${app.events.consumer.batch-size:50}") int batchSize,
+            @Value("${app.events.consumer.receive-timeout:1s}") Duration receiveTimeout) {
+        SimpleRabbitListenerContainerFactory factory = new SimpleRabbitListenerContainerFactory();
+        factory.setConnectionFactory(connectionFactory);
+        factory.setAcknowledgeMode(AcknowledgeMode.AUTO);
+        factory.setPrefetchCount(Math.max(prefetch, batchSize));
+        factory.setConcurrentConsumers(concurrency);
+        factory.setMaxConcurrentConsumers(Math.max(concurrency, maxConcurrency));
+        factory.setBatchListener(true);
+        factory.setConsumerBatchEnabled(true);
+        factory.setBatchSize(batchSize);
+        factory.setReceiveTimeout(receiveTimeout.toMillis());
+        // Only thrown when failed messages could not be handed to the retry queue:
+        // put the batch back rather than lose it
+        factory.setDefaultRequeueRejected(true);
+        return factory;
     }
 
     @Bean
-    public RabbitTemplate rabbitTemplate(ConnectionFactory connectionFactory) {
+    public RabbitTemplate rabbitTemplate(ConnectionFactory connectionFactory, MessageConverter jsonMessageConverter) {
         RabbitTemplate rabbitTemplate = new RabbitTemplate(connectionFactory);
-        rabbitTemplate.setMessageConverter(jsonMessageConverter());
+        rabbitTemplate.setMessageConverter(jsonMessageConverter);
         return rabbitTemplate;
     }
 }
\ No newline at end of file
@@ -1,7 +1,13 @@
 package com.ecommerce.user_service.controller;
 
 import com.ecommerce.user_service.dto.UserDTO;
+import com.ecommerce.user_service.dto.UserImportSummary;
+import com.ecommerce.user_service.dto.UserSearchCriteria;
+import com.ecommerce.user_service.dto.UserSearchResponse;
+import com.ecommerce.user_service.service.UserImportService;
 import com.ecommerce.user_service.service.UserService;
+import io.micrometer.core.annotation.Timed;
+import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
@@ -12,6 +18,9 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.InputStream;
+import java.util.List;
+
 @RestController
 @RequestMapping("/api/users/admin")
 @RequiredArgsConstructor
@@ -20,6 +29,7 @@ import org.springframework.web.bind.annotation.*;
 public class AdminUserController {
 
     private final UserService userService;
+    private final UserImportService userImportService;
 
     @GetMapping
     public ResponseEntity<Page<UserDTO>> getAllUsers(
@@ -29,6 +39,31 @@ public class AdminUserController {
         return ResponseEntity.ok(users);
     }
 
+    @GetMapping("/search")
+    @Timed(value = "user.admin.search", description = "Time taken to search users")
+    public ResponseEntity<UserSearchResponse> searchUsers(@Valid @ModelAttribute UserSearchCriteria criteria) {
+        log.debug("REST request to search users");
+        return ResponseEntity.ok(userService.searchUsers(criteria));
+    }
+
+    // One JSON user per line; the body is streamed, never buffered whole
+    @PostMapping(value = "/import", consumes = "application/x-ndjson")
+    public ResponseEntity<UserImportSummary> importUsers(InputStream body) {
+        log.info("REST request to import users");
+        return ResponseEntity.ok(userImportService.importUsers(body));
+    }
+
+    @GetMapping("/import")
+    public ResponseEntity<List<UserImportSummary>> getImports() {
+        return ResponseEntity.ok(userImportService.getImports());
+    }
+
+    @GetMapping("/import/{jobId}")
+    public ResponseEntity<UserImportSummary> getImport(@PathVariable String jobId) {
+        UserImportSummary summary = userImportService.getImport(jobId);
+        return summary == null ? ResponseEntity.notFound().build() : ResponseEntity.ok(summary);
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<UserDTO> getUser(@PathVariable Long id) {
         log.debug("REST request to get user: {}", id);
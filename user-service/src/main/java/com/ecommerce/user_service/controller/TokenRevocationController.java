@@ -0,0 +1,36 @@
+package com.ecommerce.user_service.controller;
+
+import com.ecommerce.user_service.dto.TokenRevocationDTO;
+import com.ecommerce.user_service.security.TokenRevocationList;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Active revocations for the gateway, which polls with the time of its previous
+ * poll (or from the epoch on its first poll) and pages by id. Only callers with
+ * the internal API token get here, see SecurityConfig.
+ */
+@RestController
+@RequiredArgsConstructor
+public class TokenRevocationController {
+
+    private static final int MAX_PAGE_SIZE = 1000;
+
+    private final TokenRevocationList revocationList;
+
+    @GetMapping("/internal/token-revocations")
+    public ResponseEntity<List<TokenRevocationDTO>> getRevocations(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant since,
+            @RequestParam(defaultValue = "0") long afterId,
+            @RequestParam(defaultValue = "500") int limit) {
+        int pageSize = Math.clamp(limit, 1, MAX_PAGE_SIZE);
+        return ResponseEntity.ok(revocationList.findActive(since, afterId, pageSize));
+    }
+}
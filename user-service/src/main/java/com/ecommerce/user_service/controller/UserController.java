@@ -3,9 +3,11 @@ package com.ecommerce.user_service.controller;
 import com.ecommerce.user_service.dto.*;
 import com.ecommerce.user_service.service.UserService;
 import io.micrometer.core.annotation.Timed;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -21,6 +23,9 @@ public class UserController {
 
     private final UserService userService;
 
+    @Value("${app.login-throttling.trusted-proxy-hops:1}")
+    private int trustedProxyHops;
+
     @PostMapping("/register")
     @Timed(value = "user.register", description = "Time taken to register user")
     public ResponseEntity<UserDTO> register(@Valid @RequestBody RegisterRequest request) {
@@ -31,12 +36,20 @@ public class UserController {
 
     @PostMapping("/login")
     @Timed(value = "user.login", description = "Time taken to login")
-    public ResponseEntity<LoginResponse> login(@Valid @RequestBody LoginRequest request) {
+    public ResponseEntity<LoginResponse> login(@Valid @RequestBody LoginRequest request,
+                                               HttpServletRequest httpRequest) {
         log.info("REST request to login: {}", request.getUsernameOrEmail());
-        LoginResponse response = userService.login(request);
+        LoginResponse response = userService.login(request, getClientIp(httpRequest));
         return ResponseEntity.ok(response);
     }
 
+    @PostMapping("/refresh")
+    @Timed(value = "user.refresh", description = "Time taken to refresh tokens")
+    public ResponseEntity<LoginResponse> refresh(@Valid @RequestBody RefreshTokenRequest request) {
+        log.debug("REST request to refresh tokens");
+        return ResponseEntity.ok(userService.refreshToken(request));
+    }
+
     @GetMapping("/profile")
     @PreAuthorize("isAuthenticated()")
     @Timed(value = "user.profile", description = "Time taken to get user profile")
@@ -99,4 +112,16 @@ public class UserController {
         userService.resendVerificationEmail(email);
         return ResponseEntity.noContent().build();
     }
+
+    private String getClientIp(HttpServletRequest request) {
+        // Requests arrive through the gateway, which appends its peer to X-Forwarded-For.
+        // Entries left of what our own proxies appended are client-supplied and can be
+        // forged per request, so they must not key the per-IP limit.
+        String forwardedFor = request.getHeader("X-Forwarded-For");
+        if (forwardedFor == null || forwardedFor.isBlank() || trustedProxyHops <= 0) {
+            return request.getRemoteAddr();
+        }
+        String[] hops = forwardedFor.split(",");
+        return hops[Math.max(0, hops.length - trustedProxyHops)].trim();
+    }
 }
\ No newline at end of file
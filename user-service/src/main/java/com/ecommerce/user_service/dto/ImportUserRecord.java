@@ -0,0 +1,56 @@
+package com.ecommerce.user_service.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import jakarta.validation.constraints.Email;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * One line of a bulk import. Exactly one of {@code password} (plain text, hashed
+ * on import) or {@code passwordHash} (a BCrypt hash carried over from the legacy
+ * platform, stored as is) must be set.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class ImportUserRecord {
+
+    @NotBlank(message = "Username is required")
+    @Size(min = 3, max = 50, message = "Username must be between 3 and 50 characters")
+    private String username;
+
+    @NotBlank(message = "Email is required")
+    @Email(message = "Email must be valid")
+    @Size(max = 100, message = "Email must be at most 100 characters")
+    private String email;
+
+    private String password;
+
+    @Pattern(regexp = "^(\\{bcrypt\\})?\\$2[aby]?\\$\\d{2}\\$[./A-Za-z0-9]{53}$", message = "Password hash must be a BCrypt hash")
+    private String passwordHash;
+
+    @Size(max = 50, message = "First name must be at most 50 characters")
+    private String firstName;
+
+    @Size(max = 50, message = "Last name must be at most 50 characters")
+    private String lastName;
+
+    @Size(max = 20, message = "Phone number must be at most 20 characters")
+    private String phoneNumber;
+
+    private Boolean emailVerified;
+
+    private List<String> roles;
+
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,19 @@
+package com.ecommerce.user_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TokenRevocationDTO {
+    private Long id;
+    private String key;
+    private Instant revokedAt;
+    private Instant expiresAt;
+}
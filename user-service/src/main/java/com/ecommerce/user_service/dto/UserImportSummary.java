@@ -0,0 +1,29 @@
+package com.ecommerce.user_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserImportSummary {
+    private String jobId;
+    private String status;
+    private long read;
+    private long imported;
+    private long duplicates;
+    private long invalid;
+    private long failed;
+    private double recordsPerSecond;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+    private List<UserImportError> errors;
+    // True when more errors occurred than are kept in the summary
+    private boolean errorsTruncated;
+}
@@ -0,0 +1,18 @@
+package com.ecommerce.user_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserSearchResponse {
+    private List<UserSummaryDTO> users;
+    // Null on the last page
+    private String nextCursor;
+}
@@ -0,0 +1,24 @@
+package com.ecommerce.user_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserSummaryDTO {
+    private Long id;
+    private String username;
+    private String email;
+    private String status;
+    private Boolean emailVerified;
+    private List<String> roles;
+    private LocalDateTime lastLogin;
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,7 @@
+package com.ecommerce.user_service.entity;
+
+public enum EmailOutboxStatus {
+    PENDING,
+    SENT,
+    FAILED
+}
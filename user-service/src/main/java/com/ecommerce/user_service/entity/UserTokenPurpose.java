@@ -0,0 +1,6 @@
+package com.ecommerce.user_service.entity;
+
+public enum UserTokenPurpose {
+    EMAIL_VERIFICATION,
+    PASSWORD_RESET
+}
@@ -0,0 +1,59 @@
+package com.ecommerce.user_service.event;
+
+import com.ecommerce.user_service.outbox.EventBatchCodec;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.support.converter.MessageConversionException;
+import org.springframework.amqp.support.converter.MessageConverter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Consumer side of {@link EventBatchCodec}: turns a batch message into the list of
+ * events it carries, each read with the class named in the batch. Registered for
+ * the batch content type only, next to the JSON converter, so a listener accepts
+ * both single JSON events and batches.
+ */
+public class EventBatchMessageConverter implements MessageConverter {
+
+    private static final String TRUSTED_PACKAGE = "com.ecommerce.";
+
+    private final ObjectMapper objectMapper;
+
+    public EventBatchMessageConverter(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public Message toMessage(Object object, MessageProperties messageProperties) {
+        throw new MessageConversionException("Event batches are only produced by the outbox relay");
+    }
+
+    @Override
+    public List<Object> fromMessage(Message message) {
+        List<EventBatchCodec.BatchedEvent> batch = EventBatchCodec.decode(message.getBody());
+        List<Object> events = new ArrayList<>(batch.size());
+        for (EventBatchCodec.BatchedEvent event : batch) {
+            try {
+                events.add(objectMapper.readValue(event.payload(), payloadClass(event.payloadType())));
+            } catch (IOException ex) {
+                throw new MessageConversionException("Failed to read event " + event.eventId(), ex);
+            }
+        }
+        return events;
+    }
+
+    private static Class<?> payloadClass(String payloadType) {
+        if (!payloadType.startsWith(TRUSTED_PACKAGE)) {
+            throw new MessageConversionException("Untrusted event type: " + payloadType);
+        }
+        try {
+            return Class.forName(payloadType);
+        } catch (ClassNotFoundException ex) {
+            throw new MessageConversionException("Unknown event type: " + payloadType, ex);
+        }
+    }
+}
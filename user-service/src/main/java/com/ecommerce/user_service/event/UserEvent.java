@@ -13,6 +13,7 @@ import java.time.LocalDateTime;
 @NoArgsConstructor
 @AllArgsConstructor
 public class UserEvent implements Serializable {
+    private String eventId;
     private Long userId;
     private String username;
     private String email;
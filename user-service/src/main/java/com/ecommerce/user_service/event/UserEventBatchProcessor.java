@@ -0,0 +1,255 @@
+package com.ecommerce.user_service.event;
+
+import com.ecommerce.user_service.config.RabbitMQConfig;
+import com.ecommerce.user_service.outbox.EventBatchCodec;
+import com.ecommerce.user_service.repository.ProcessedEventRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.core.AmqpAdmin;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageBuilder;
+import org.springframework.amqp.core.MessageDeliveryMode;
+import org.springframework.amqp.core.QueueInformation;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Runs a batch of {@code user-events} deliveries through a handler one event at a
+ * time, so a failing event does not hold back the rest of the batch. Failed
+ * messages are republished to the retry queue of their exponentially growing
+ * delay tier, and to the dead-letter queue once out of attempts or unreadable;
+ * those republishes are confirmed before the listener returns and the batch is
+ * acknowledged. Delivery is at-least-once end to end, so each event is handled in a
+ * transaction that first claims its id in {@code processed_events}; a redelivered
+ * event that was already handled is skipped.
+ */
+@Component
+@Slf4j
+public class UserEventBatchProcessor {
+
+    static final String RETRY_COUNT_HEADER = "x-retry-count";
+    static final String EXCEPTION_HEADER = "x-exception-message";
+
+    private final RabbitTemplate rabbitTemplate;
+    private final ProcessedEventRepository processedEventRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final AmqpAdmin amqpAdmin;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    private final int maxAttempts;
+    private final Duration initialBackoff;
+    private final double backoffMultiplier;
+    private final Duration maxBackoff;
+    private final Duration confirmTimeout;
+    private final Duration dedupRetention;
+    private final int purgeBatchSize;
+    private final Map<String, AtomicLong> queueDepths = new ConcurrentHashMap<>();
+
+    public UserEventBatchProcessor(RabbitTemplate rabbitTemplate,
+                                   ProcessedEventRepository processedEventRepository,
+                                   TransactionTemplate transactionTemplate,
+                                   AmqpAdmin amqpAdmin,
+                                   ObjectMapper objectMapper,
+                                   MeterRegistry meterRegistry,
+                                   @Value("${app.events.consumer.max-attempts:5}") int maxAttempts,
+                                   @Value("${app.events.consumer.initial-backoff:1s}") Duration initialBackoff,
+                                   @Value("${app.events.consumer.backoff-multiplier:4}") double backoffMultiplier,
+                                   @Value("${app.events.consumer.max-backoff:5m}") Duration maxBackoff,
+                                   @Value("${app.events.outbox.confirm-timeout:5s}") Duration confirmTimeout,
+                                   @Value("${app.events.consumer.dedup-retention:7d}") Duration dedupRetention,
+                                   @Value("${app.events.consumer.purge-batch-size:1000}") int purgeBatchSize) {
+        this.rabbitTemplate = rabbitTemplate;
+        this.processedEventRepository = processedEventRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.amqpAdmin = amqpAdmin;
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+        this.maxAttempts = maxAttempts;
+        this.initialBackoff = initialBackoff;
+        this.backoffMultiplier = backoffMultiplier;
+        this.maxBackoff = maxBackoff;
+        this.confirmTimeout = confirmTimeout;
+        this.dedupRetention = dedupRetention;
+        this.purgeBatchSize = purgeBatchSize;
+    }
+
+    public void process(String queue, List<Message> messages, Consumer<UserEvent> handler) {
+        Timer.builder("events.consumer.batch")
+                .description("Time to process one batch of deliveries")
+                .tag("queue", queue)
+                .register(meterRegistry)
+                .record(() -> {
+                    List<Message> republish = new ArrayList<>();
+                    List<String> routingKeys = new ArrayList<>();
+                    for (Message message : messages) {
+                        handle(queue, message, handler, republish, routingKeys);
+                    }
+                    if (!republish.isEmpty()) {
+                        rabbitTemplate.invoke(operations -> {
+                            for (int i = 0; i < republish.size(); i++) {
+                                operations.send("", routingKeys.get(i), republish.get(i));
+                            }
+                            operations.waitForConfirmsOrDie(confirmTimeout.toMillis());
+                            return null;
+                        });
+                    }
+                });
+    }
+
+    private void handle(String queue, Message message, Consumer<UserEvent> handler,
+                        List<Message> republish, List<String> routingKeys) {
+        List<UserEvent> events;
+        try {
+            events = read(message);
+        } catch (IOException | RuntimeException ex) {
+            log.error("Unreadable message on {}, dead-lettering it: {}", queue, ex.getMessage());
+            republish.add(deadLetter(message, ex));
+            routingKeys.add(queue + RabbitMQConfig.DEAD_LETTER_QUEUE_SUFFIX);
+            count(queue, "dead_lettered");
+            return;
+        }
+
+        Timer processTimer = Timer.builder("events.consumer.process")
+                .description("Time to handle one event")
+                .tag("queue", queue)
+                .register(meterRegistry);
+        try {
+            for (UserEvent event : events) {
+                recordLag(queue, event);
+                processTimer.record(() -> transactionTemplate.executeWithoutResult(status -> {
+                    if (event.getEventId() != null && !processedEventRepository.markProcessed(queue, event.getEventId())) {
+                        count(queue, "duplicate");
+                        return;
+                    }
+                    handler.accept(event);
+                }));
+            }
+            count(queue, "processed");
+        } catch (RuntimeException ex) {
+            // A batch message is retried as a whole; events it already handled are skipped
+            int attempts = retryCount(message) + 1;
+            if (attempts < maxAttempts) {
+                Duration backoff = backoff(attempts);
+                log.warn("Event on {} failed (attempt {} of {}), retrying in {}: {}",
+                        queue, attempts, maxAttempts, backoff, ex.getMessage());
+                republish.add(MessageBuilder.fromMessage(message)
+                        .setHeader(RETRY_COUNT_HEADER, attempts)
+                        .setDeliveryMode(MessageDeliveryMode.PERSISTENT)
+                        .setExpiration(null)
+                        .build());
+                routingKeys.add(RabbitMQConfig.retryQueueName(queue, backoff));
+                count(queue, "retried");
+            } else {
+                log.error("Event on {} failed {} times, dead-lettering it", queue, attempts, ex);
+                republish.add(deadLetter(message, ex));
+                routingKeys.add(queue + RabbitMQConfig.DEAD_LETTER_QUEUE_SUFFIX);
+                count(queue, "dead_lettered");
+            }
+        }
+    }
+
+    private List<UserEvent> read(Message message) throws IOException {
+        if (EventBatchCodec.CONTENT_TYPE.equals(message.getMessageProperties().getContentType())) {
+            List<UserEvent> events = new ArrayList<>();
+            for (EventBatchCodec.BatchedEvent event : EventBatchCodec.decode(message.getBody())) {
+                events.add(objectMapper.readValue(event.payload(), UserEvent.class));
+            }
+            return events;
+        }
+        return List.of(objectMapper.readValue(message.getBody(), UserEvent.class));
+    }
+
+    private static Message deadLetter(Message message, Exception cause) {
+        return MessageBuilder.fromMessage(message)
+                .setExpiration(null)
+                .setDeliveryMode(MessageDeliveryMode.PERSISTENT)
+                .setHeader(EXCEPTION_HEADER, String.valueOf(cause.getMessage()))
+                .build();
+    }
+
+    private static int retryCount(Message message) {
+        Object count = message.getMessageProperties().getHeaders().get(RETRY_COUNT_HEADER);
+        return count instanceof Number number ? number.intValue() : 0;
+    }
+
+    private Duration backoff(int attempts) {
+        return RabbitMQConfig.retryBackoff(attempts, initialBackoff, backoffMultiplier, maxBackoff);
+    }
+
+    private void recordLag(String queue, UserEvent event) {
+        if (event.getTimestamp() != null) {
+            Duration lag = Duration.between(event.getTimestamp(), LocalDateTime.now());
+            Timer.builder("events.consumer.lag")
+                    .description("Time from publishing an event to handling it")
+                    .tag("queue", queue)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry)
+                    .record(Math.max(lag.toMillis(), 0), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void count(String queue, String outcome) {
+        meterRegistry.counter("events.consumer.messages", "queue", queue, "outcome", outcome).increment();
+    }
+
+    @Scheduled(fixedDelayString = "${app.events.consumer.purge-interval-ms:3600000}")
+    public void purgeProcessedEvents() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(dedupRetention);
+        long purged = 0;
+        int deleted;
+        do {
+            deleted = processedEventRepository.deleteOlderThanBatch(cutoff, purgeBatchSize);
+            purged += deleted;
+        } while (deleted == purgeBatchSize);
+
+        if (purged > 0) {
+            log.info("Purged {} processed event ids older than {}", purged, dedupRetention);
+        }
+    }
+
+    /**
+     * Ready-message backlog per consumed queue, read from the broker on a schedule
+     * rather than on every scrape.
+     */
+    @Scheduled(fixedDelayString = "${app.events.consumer.depth-poll-interval-ms:10000}")
+    public void pollQueueDepths() {
+        for (String queue : List.of(RabbitMQConfig.USER_REGISTERED_QUEUE, RabbitMQConfig.EMAIL_VERIFIED_QUEUE)) {
+            for (String name : List.of(queue, queue + RabbitMQConfig.DEAD_LETTER_QUEUE_SUFFIX)) {
+                try {
+                    QueueInformation info = amqpAdmin.getQueueInfo(name);
+                    if (info != null) {
+                        queueDepths.computeIfAbsent(name, this::depthGauge).set(info.getMessageCount());
+                    }
+                } catch (RuntimeException ex) {
+                    log.debug("Could not read depth of {}: {}", name, ex.getMessage());
+                }
+            }
+        }
+    }
+
+    private AtomicLong depthGauge(String queue) {
+        AtomicLong depth = new AtomicLong();
+        Gauge.builder("events.consumer.queue.depth", depth, AtomicLong::get)
+                .description("Messages ready in the queue")
+                .tag("queue", queue)
+                .register(meterRegistry);
+        return depth;
+    }
+}
@@ -0,0 +1,36 @@
+package com.ecommerce.user_service.event;
+
+import com.ecommerce.user_service.config.RabbitMQConfig;
+import com.ecommerce.user_service.service.EmailService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class UserEventListener {
+
+    private final UserEventBatchProcessor batchProcessor;
+    private final EmailService emailService;
+
+    // The verification email is queued during registration itself; this drains the
+    // queue and is where further post-registration work belongs.
+    @RabbitListener(queues = RabbitMQConfig.USER_REGISTERED_QUEUE,
+            containerFactory = RabbitMQConfig.BATCH_LISTENER_CONTAINER_FACTORY)
+    public void onUserRegistered(List<Message> messages) {
+        batchProcessor.process(RabbitMQConfig.USER_REGISTERED_QUEUE, messages,
+                event -> log.debug("User registered: {}", event.getUserId()));
+    }
+
+    @RabbitListener(queues = RabbitMQConfig.EMAIL_VERIFIED_QUEUE,
+            containerFactory = RabbitMQConfig.BATCH_LISTENER_CONTAINER_FACTORY)
+    public void onEmailVerified(List<Message> messages) {
+        batchProcessor.process(RabbitMQConfig.EMAIL_VERIFIED_QUEUE, messages,
+                event -> emailService.sendWelcomeEmail(event.getEmail(), event.getUsername()));
+    }
+}
@@ -1,27 +1,39 @@
 package com.ecommerce.user_service.event;
 
+import com.ecommerce.user_service.config.RabbitMQConfig;
+import com.ecommerce.user_service.entity.EventOutboxMessage;
+import com.ecommerce.user_service.repository.EventOutboxRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.amqp.rabbit.core.RabbitTemplate;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.UUID;
 
+/**
+ * Writes events to the outbox in the caller's transaction; they reach RabbitMQ
+ * through {@link com.ecommerce.user_service.outbox.EventOutboxRelay} only if that
+ * transaction commits. The event id doubles as the AMQP message id so consumers
+ * can drop redeliveries.
+ */
 @Component
 @RequiredArgsConstructor
 @Slf4j
+@Transactional
 public class UserEventPublisher {
 
-    private final RabbitTemplate rabbitTemplate;
-
-    private static final String EXCHANGE_NAME = "user-events";
+    private final EventOutboxRepository eventOutboxRepository;
+    private final ObjectMapper objectMapper;
 
     public void publishUserRegisteredEvent(UserEvent event) {
         event.setEventType("USER_REGISTERED");
         event.setTimestamp(LocalDateTime.now());
 
         log.info("Publishing user registered event: {}", event);
-        rabbitTemplate.convertAndSend(EXCHANGE_NAME, "user.registered", event);
+        enqueue("user.registered", event);
     }
 
     public void publishEmailVerifiedEvent(UserEvent event) {
@@ -29,6 +41,36 @@ public class UserEventPublisher {
         event.setTimestamp(LocalDateTime.now());
 
         log.info("Publishing email verified event: {}", event);
-        rabbitTemplate.convertAndSend(EXCHANGE_NAME, "user.email.verified", event);
+        enqueue("user.email.verified", event);
+    }
+
+    public void publishUsersImportedEvent(UsersImportedEvent event) {
+        event.setEventType("USERS_IMPORTED");
+        event.setTimestamp(LocalDateTime.now());
+
+        log.info("Publishing users imported event: {}", event);
+        UUID eventId = UUID.randomUUID();
+        event.setEventId(eventId.toString());
+        enqueue("user.imported", eventId, event);
+    }
+
+    private void enqueue(String routingKey, UserEvent event) {
+        UUID eventId = UUID.randomUUID();
+        event.setEventId(eventId.toString());
+        enqueue(routingKey, eventId, event);
+    }
+
+    private void enqueue(String routingKey, UUID eventId, Object payload) {
+        try {
+            eventOutboxRepository.save(EventOutboxMessage.builder()
+                    .eventId(eventId)
+                    .exchange(RabbitMQConfig.USER_EXCHANGE)
+                    .routingKey(routingKey)
+                    .payloadType(payload.getClass().getName())
+                    .payload(objectMapper.writeValueAsString(payload))
+                    .build());
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Could not serialize user event", ex);
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,29 @@
+package com.ecommerce.user_service.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+/**
+ * Published once per bulk import instead of one registration event per user.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UsersImportedEvent implements Serializable {
+    private String eventId;
+    private String eventType;
+    private String jobId;
+    private long imported;
+    private long duplicates;
+    private long invalid;
+    private long failed;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+    private LocalDateTime timestamp;
+}
@@ -0,0 +1,7 @@
+package com.ecommerce.user_service.exception;
+
+public class InvalidSearchRequestException extends RuntimeException {
+    public InvalidSearchRequestException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package com.ecommerce.user_service.exception;
+
+public class PasswordHashingUnavailableException extends RuntimeException {
+    public PasswordHashingUnavailableException(String message) {
+        super(message);
+    }
+}
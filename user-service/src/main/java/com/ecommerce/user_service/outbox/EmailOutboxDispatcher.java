@@ -0,0 +1,187 @@
+package com.ecommerce.user_service.outbox;
+
+import com.ecommerce.user_service.entity.EmailOutboxMessage;
+import com.ecommerce.user_service.entity.EmailOutboxStatus;
+import com.ecommerce.user_service.repository.EmailOutboxRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Delivers the email outbox. Each run claims a batch of due messages with
+ * {@code FOR UPDATE SKIP LOCKED}, so several instances can dispatch side by side,
+ * and hands the whole batch to {@link JavaMailSender#send(SimpleMailMessage...)},
+ * which sends it over a single SMTP connection instead of connecting per message.
+ * Failed messages are retried with exponential backoff until {@code max-attempts}.
+ * A sent message's body is cleared right away, and finished messages are deleted
+ * in batches once older than {@code retention}.
+ */
+@Component
+@Slf4j
+public class EmailOutboxDispatcher {
+
+    private final EmailOutboxRepository emailOutboxRepository;
+    private final JavaMailSender mailSender;
+    private final TransactionTemplate transactionTemplate;
+    private final String fromEmail;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final Duration initialBackoff;
+    private final Duration retention;
+    private final int purgeBatchSize;
+    private final AtomicLong pending = new AtomicLong();
+    private final Timer sendTimer;
+    private final Counter sent;
+    private final Counter retried;
+    private final Counter failed;
+
+    public EmailOutboxDispatcher(EmailOutboxRepository emailOutboxRepository,
+                                 JavaMailSender mailSender,
+                                 TransactionTemplate transactionTemplate,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${app.email.from}") String fromEmail,
+                                 @Value("${app.email.outbox.batch-size:50}") int batchSize,
+                                 @Value("${app.email.outbox.max-attempts:8}") int maxAttempts,
+                                 @Value("${app.email.outbox.initial-backoff:30s}") Duration initialBackoff,
+                                 @Value("${app.email.outbox.retention:7d}") Duration retention,
+                                 @Value("${app.email.outbox.purge-batch-size:1000}") int purgeBatchSize) {
+        this.emailOutboxRepository = emailOutboxRepository;
+        this.mailSender = mailSender;
+        this.transactionTemplate = transactionTemplate;
+        this.fromEmail = fromEmail;
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.initialBackoff = initialBackoff;
+        this.retention = retention;
+        this.purgeBatchSize = purgeBatchSize;
+        this.sendTimer = Timer.builder("email.outbox.send")
+                .description("Time to send one batch over SMTP")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.sent = meterRegistry.counter("email.outbox.messages", "result", "sent");
+        this.retried = meterRegistry.counter("email.outbox.messages", "result", "retried");
+        this.failed = meterRegistry.counter("email.outbox.messages", "result", "failed");
+        Gauge.builder("email.outbox.pending", pending, AtomicLong::get)
+                .description("Emails waiting in the outbox")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${app.email.outbox.poll-interval-ms:1000}")
+    public void dispatch() {
+        Integer dispatched;
+        do {
+            dispatched = transactionTemplate.execute(status -> dispatchBatch());
+        } while (dispatched != null && dispatched == batchSize);
+        pending.set(emailOutboxRepository.countByStatus(EmailOutboxStatus.PENDING));
+    }
+
+    private int dispatchBatch() {
+        List<EmailOutboxMessage> batch = emailOutboxRepository.lockDueMessages(batchSize);
+        if (batch.isEmpty()) {
+            return 0;
+        }
+
+        SimpleMailMessage[] messages = new SimpleMailMessage[batch.size()];
+        for (int i = 0; i < batch.size(); i++) {
+            messages[i] = toMailMessage(batch.get(i));
+        }
+
+        Map<Object, Exception> failures = Map.of();
+        long start = System.nanoTime();
+        try {
+            mailSender.send(messages);
+        } catch (MailSendException ex) {
+            failures = ex.getFailedMessages();
+            if (failures.isEmpty()) {
+                failures = allFailed(messages, ex);
+            }
+        } catch (MailException ex) {
+            failures = allFailed(messages, ex);
+        } finally {
+            sendTimer.record(Duration.ofNanos(System.nanoTime() - start));
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < batch.size(); i++) {
+            EmailOutboxMessage message = batch.get(i);
+            Exception failure = failures.get(messages[i]);
+            if (failure == null) {
+                message.setStatus(EmailOutboxStatus.SENT);
+                message.setSentAt(now);
+                message.setBody(null);
+                sent.increment();
+            } else {
+                scheduleRetry(message, failure, now);
+            }
+        }
+        return batch.size();
+    }
+
+    @Scheduled(fixedDelayString = "${app.email.outbox.purge-interval-ms:3600000}")
+    public void purgeFinished() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(retention);
+        long purged = 0;
+        int deleted;
+        do {
+            deleted = emailOutboxRepository.deleteFinishedBatch(cutoff, purgeBatchSize);
+            purged += deleted;
+        } while (deleted == purgeBatchSize);
+
+        if (purged > 0) {
+            log.info("Purged {} sent or failed emails older than {}", purged, retention);
+        }
+    }
+
+    private void scheduleRetry(EmailOutboxMessage message, Exception failure, LocalDateTime now) {
+        int attempts = message.getAttempts() + 1;
+        message.setAttempts(attempts);
+        message.setLastError(truncate(failure.getMessage()));
+        if (attempts >= maxAttempts) {
+            message.setStatus(EmailOutboxStatus.FAILED);
+            failed.increment();
+            log.error("Giving up on email {} to {} after {} attempts", message.getId(), message.getRecipient(), attempts);
+        } else {
+            message.setNextAttemptAt(now.plus(initialBackoff.multipliedBy(1L << Math.min(attempts - 1, 16))));
+            retried.increment();
+            log.warn("Email {} to {} failed, retry {} scheduled", message.getId(), message.getRecipient(), attempts);
+        }
+    }
+
+    private SimpleMailMessage toMailMessage(EmailOutboxMessage outboxMessage) {
+        SimpleMailMessage message = new SimpleMailMessage();
+        message.setFrom(fromEmail);
+        message.setTo(outboxMessage.getRecipient());
+        message.setSubject(outboxMessage.getSubject());
+        message.setText(outboxMessage.getBody());
+        return message;
+    }
+
+    private static Map<Object, Exception> allFailed(SimpleMailMessage[] messages, Exception ex) {
+        Map<Object, Exception> failures = new IdentityHashMap<>();
+        for (SimpleMailMessage message : messages) {
+            failures.put(message, ex);
+        }
+        return failures;
+    }
+
+    private static String truncate(String error) {
+        return error == null || error.length() <= 1000 ? error : error.substring(0, 1000);
+    }
+}
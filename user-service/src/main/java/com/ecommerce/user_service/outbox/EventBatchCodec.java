@@ -0,0 +1,126 @@
+package com.ecommerce.user_service.outbox;
+
+import com.ecommerce.user_service.entity.EventOutboxMessage;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageBuilder;
+import org.springframework.amqp.core.MessageDeliveryMode;
+import org.springframework.amqp.support.converter.MessageConversionException;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Binary framing for several outbox events in one AMQP message. Schema version 1,
+ * deflated as a whole:
+ * <pre>
+ *   byte    schema version
+ *   int     type count, then each type name (modified UTF-8)
+ *   int     event count, then per event:
+ *             long, long   event id
+ *             int          index into the type table
+ *             int, bytes   payload (the event's JSON, UTF-8)
+ * </pre>
+ * Payloads stay JSON so consumers reuse their existing event classes; the saving
+ * comes from one set of AMQP frames per batch and from deflating the repeated keys.
+ * Readers must reject a schema version they do not know.
+ */
+public final class EventBatchCodec {
+
+    public static final String CONTENT_TYPE = "application/vnd.ecommerce.event-batch";
+    public static final String SCHEMA_VERSION_HEADER = "x-schema-version";
+    public static final String BATCH_SIZE_HEADER = "x-batch-size";
+    public static final int SCHEMA_VERSION = 1;
+
+    public record BatchedEvent(UUID eventId, String payloadType, byte[] payload) {
+    }
+
+    private EventBatchCodec() {
+    }
+
+    /**
+     * The message id is the first event's id; consumers deduplicate on the ids
+     * inside the batch, as a redelivered batch always carries the same events.
+     */
+    public static Message toMessage(List<EventOutboxMessage> events) {
+        return MessageBuilder.withBody(encode(events))
+                .setContentType(CONTENT_TYPE)
+                .setContentEncoding("deflate")
+                .setMessageId(events.get(0).getEventId().toString())
+                .setDeliveryMode(MessageDeliveryMode.PERSISTENT)
+                .setHeader(SCHEMA_VERSION_HEADER, SCHEMA_VERSION)
+                .setHeader(BATCH_SIZE_HEADER, events.size())
+                .build();
+    }
+
+    public static byte[] encode(List<EventOutboxMessage> events) {
+        Map<String, Integer> typeIndex = new HashMap<>();
+        List<String> types = new ArrayList<>();
+        for (EventOutboxMessage event : events) {
+            typeIndex.computeIfAbsent(event.getPayloadType(), type -> {
+                types.add(type);
+                return types.size() - 1;
+            });
+        }
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(events.size() * 128);
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        try (DataOutputStream out = new DataOutputStream(new DeflaterOutputStream(bytes, deflater))) {
+            out.writeByte(SCHEMA_VERSION);
+            out.writeInt(types.size());
+            for (String type : types) {
+                out.writeUTF(type);
+            }
+            out.writeInt(events.size());
+            for (EventOutboxMessage event : events) {
+                out.writeLong(event.getEventId().getMostSignificantBits());
+                out.writeLong(event.getEventId().getLeastSignificantBits());
+                out.writeInt(typeIndex.get(event.getPayloadType()));
+                byte[] payload = event.getPayload().getBytes(StandardCharsets.UTF_8);
+                out.writeInt(payload.length);
+                out.write(payload);
+            }
+        } catch (IOException ex) {
+            throw new MessageConversionException("Failed to encode event batch", ex);
+        } finally {
+            deflater.end();
+        }
+        return bytes.toByteArray();
+    }
+
+    public static List<BatchedEvent> decode(byte[] body) {
+        try (DataInputStream in = new DataInputStream(new InflaterInputStream(new ByteArrayInputStream(body)))) {
+            int version = in.readUnsignedByte();
+            if (version != SCHEMA_VERSION) {
+                throw new MessageConversionException("Unsupported event batch schema version " + version);
+            }
+            String[] types = new String[in.readInt()];
+            for (int i = 0; i < types.length; i++) {
+                types[i] = in.readUTF();
+            }
+            int count = in.readInt();
+            List<BatchedEvent> events = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                UUID eventId = new UUID(in.readLong(), in.readLong());
+                String type = types[in.readInt()];
+                byte[] payload = new byte[in.readInt()];
+                in.readFully(payload);
+                events.add(new BatchedEvent(eventId, type, payload));
+            }
+            return events;
+        } catch (IOException | ArrayIndexOutOfBoundsException | NegativeArraySizeException ex) {
+            throw new MessageConversionException("Malformed event batch", ex);
+        }
+    }
+}
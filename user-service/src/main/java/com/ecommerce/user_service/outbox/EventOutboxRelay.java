@@ -0,0 +1,183 @@
+package com.ecommerce.user_service.outbox;
+
+import com.ecommerce.user_service.entity.EventOutboxMessage;
+import com.ecommerce.user_service.repository.EventOutboxRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.AmqpException;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageBuilder;
+import org.springframework.amqp.core.MessageDeliveryMode;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Relays the event outbox to RabbitMQ. A batch is published on one channel
+ * without waiting per message, then confirmed as a whole with
+ * {@code waitForConfirmsOrDie}; only then are the rows marked published. If the
+ * broker does not confirm, the transaction rolls back and the batch is sent again
+ * on the next run, so delivery is at-least-once and consumers deduplicate on the
+ * message id (the outbox event id).
+ * <p>
+ * Routing keys listed in {@code app.events.batching.routing-keys} are opted in to
+ * batching: their events go out as {@link EventBatchCodec} messages of up to
+ * {@code max-messages} events, so the poll interval bounds the added latency.
+ * Consumers of those keys must accept the batch content type; every other key keeps
+ * getting one JSON message per event.
+ * <p>
+ * Published rows are kept for {@code retention} (for replay and inspection) and then
+ * deleted in batches.
+ */
+@Component
+@Slf4j
+public class EventOutboxRelay {
+
+    private static final String TYPE_ID_HEADER = "__TypeId__";
+
+    private final EventOutboxRepository eventOutboxRepository;
+    private final RabbitTemplate rabbitTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final Duration confirmTimeout;
+    private final Set<String> batchedRoutingKeys;
+    private final int maxBatchMessages;
+    private final Duration retention;
+    private final int purgeBatchSize;
+    private final AtomicLong lagMillis = new AtomicLong();
+    private final Counter published;
+    private final Counter jsonMessages;
+    private final Counter batchMessages;
+    private final Timer batchTimer;
+
+    public EventOutboxRelay(EventOutboxRepository eventOutboxRepository,
+                            RabbitTemplate rabbitTemplate,
+                            TransactionTemplate transactionTemplate,
+                            MeterRegistry meterRegistry,
+                            @Value("${app.events.outbox.batch-size:100}") int batchSize,
+                            @Value("${app.events.outbox.confirm-timeout:5s}") Duration confirmTimeout,
+                            @Value("${app.events.batching.routing-keys:}") Set<String> batchedRoutingKeys,
+                            @Value("${app.events.batching.max-messages:100}") int maxBatchMessages,
+                            @Value("${app.events.outbox.retention:3d}") Duration retention,
+                            @Value("${app.events.outbox.purge-batch-size:1000}") int purgeBatchSize) {
+        this.eventOutboxRepository = eventOutboxRepository;
+        this.rabbitTemplate = rabbitTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.batchSize = batchSize;
+        this.confirmTimeout = confirmTimeout;
+        this.batchedRoutingKeys = batchedRoutingKeys;
+        this.maxBatchMessages = maxBatchMessages;
+        this.retention = retention;
+        this.purgeBatchSize = purgeBatchSize;
+        this.published = Counter.builder("events.outbox.published")
+                .description("Events published and confirmed by the broker")
+                .register(meterRegistry);
+        this.jsonMessages = Counter.builder("events.outbox.messages")
+                .description("AMQP messages sent by the relay")
+                .tag("format", "json")
+                .register(meterRegistry);
+        this.batchMessages = Counter.builder("events.outbox.messages")
+                .description("AMQP messages sent by the relay")
+                .tag("format", "batch")
+                .register(meterRegistry);
+        this.batchTimer = Timer.builder("events.outbox.batch")
+                .description("Time to publish and confirm one batch")
+                .register(meterRegistry);
+        Gauge.builder("events.outbox.lag", lagMillis, lag -> lag.get() / 1000.0)
+                .description("Age in seconds of the oldest unpublished event")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${app.events.outbox.poll-interval-ms:500}")
+    public void relay() {
+        try {
+            Integer relayed;
+            do {
+                relayed = transactionTemplate.execute(status -> relayBatch());
+            } while (relayed != null && relayed == batchSize);
+        } catch (AmqpException ex) {
+            log.warn("Event relay interrupted, will retry: {}", ex.getMessage());
+        } finally {
+            LocalDateTime oldest = eventOutboxRepository.findOldestUnpublishedCreatedAt();
+            lagMillis.set(oldest == null ? 0 : Math.max(0, Duration.between(oldest, LocalDateTime.now()).toMillis()));
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.events.outbox.purge-interval-ms:3600000}")
+    public void purgePublished() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(retention);
+        long purged = 0;
+        int deleted;
+        do {
+            deleted = eventOutboxRepository.deletePublishedBatch(cutoff, purgeBatchSize);
+            purged += deleted;
+        } while (deleted == purgeBatchSize);
+
+        if (purged > 0) {
+            log.info("Purged {} published events older than {}", purged, retention);
+        }
+    }
+
+    private int relayBatch() {
+        List<EventOutboxMessage> batch = eventOutboxRepository.lockUnpublished(batchSize);
+        if (batch.isEmpty()) {
+            return 0;
+        }
+
+        batchTimer.record(() -> rabbitTemplate.invoke(operations -> {
+            Map<String, List<EventOutboxMessage>> batched = new LinkedHashMap<>();
+            for (EventOutboxMessage event : batch) {
+                if (batchedRoutingKeys.contains(event.getRoutingKey())) {
+                    batched.computeIfAbsent(event.getExchange() + '\0' + event.getRoutingKey(),
+                            key -> new ArrayList<>()).add(event);
+                } else {
+                    operations.send(event.getExchange(), event.getRoutingKey(), toMessage(event));
+                    jsonMessages.increment();
+                }
+            }
+            // Events of one key keep their outbox order within and across batches
+            for (List<EventOutboxMessage> events : batched.values()) {
+                EventOutboxMessage first = events.get(0);
+                for (int from = 0; from < events.size(); from += maxBatchMessages) {
+                    List<EventOutboxMessage> chunk = events.subList(from, Math.min(from + maxBatchMessages, events.size()));
+                    operations.send(first.getExchange(), first.getRoutingKey(), EventBatchCodec.toMessage(chunk));
+                    batchMessages.increment();
+                }
+            }
+            operations.waitForConfirmsOrDie(confirmTimeout.toMillis());
+            return null;
+        }));
+
+        LocalDateTime now = LocalDateTime.now();
+        batch.forEach(event -> event.setPublishedAt(now));
+        published.increment(batch.size());
+        return batch.size();
+    }
+
+    private static Message toMessage(EventOutboxMessage event) {
+        return MessageBuilder.withBody(event.getPayload().getBytes(StandardCharsets.UTF_8))
+                .setContentType(MessageProperties.CONTENT_TYPE_JSON)
+                .setContentEncoding(StandardCharsets.UTF_8.name())
+                .setMessageId(event.getEventId().toString())
+                .setDeliveryMode(MessageDeliveryMode.PERSISTENT)
+                .setHeader(TYPE_ID_HEADER, event.getPayloadType())
+                .build();
+    }
+}
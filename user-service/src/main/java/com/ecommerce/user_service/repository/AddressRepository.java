@@ -2,12 +2,33 @@ package com.ecommerce.user_service.repository;
 
 import com.ecommerce.user_service.entity.Address;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface AddressRepository extends JpaRepository<Address, Long> {
     List<Address> findByUserId(Long userId);
-    List<Address> findByUserIdAndIsDefaultTrue(Long userId);
-}
\ No newline at end of file
+    Optional<Address> findByIdAndUserId(Long id, Long userId);
+    boolean existsByUserIdAndIsDefaultTrue(Long userId);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Address a SET a.isDefault = false WHERE a.user.id = :userId AND a.isDefault = true")
+    int clearDefault(@Param("userId") Long userId);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Address a SET a.isDefault = true WHERE a.id = :addressId AND a.user.id = :userId")
+    int markDefault(@Param("userId") Long userId, @Param("addressId") Long addressId);
+
+    /**
+     * Makes the user's oldest remaining address the default, if there is one.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "UPDATE addresses SET is_default = true " +
+            "WHERE id = (SELECT MIN(id) FROM addresses WHERE user_id = :userId)", nativeQuery = true)
+    int promoteOldest(@Param("userId") Long userId);
+}
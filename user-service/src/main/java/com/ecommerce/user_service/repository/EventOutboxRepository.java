@@ -0,0 +1,36 @@
+package com.ecommerce.user_service.repository;
+
+import com.ecommerce.user_service.entity.EventOutboxMessage;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface EventOutboxRepository extends JpaRepository<EventOutboxMessage, Long> {
+
+    /**
+     * Claims the oldest unpublished events in commit order; rows held by another relay are skipped.
+     */
+    @Query(value = "SELECT * FROM event_outbox WHERE published_at IS NULL " +
+            "ORDER BY id LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<EventOutboxMessage> lockUnpublished(@Param("limit") int limit);
+
+    @Query("SELECT MIN(e.createdAt) FROM EventOutboxMessage e WHERE e.publishedAt IS NULL")
+    LocalDateTime findOldestUnpublishedCreatedAt();
+
+    /**
+     * Deletes at most {@code limit} events published before the cutoff.
+     */
+    @Modifying
+    @Transactional
+    @Query(value = "DELETE FROM event_outbox WHERE id IN (" +
+            "SELECT id FROM event_outbox WHERE published_at < :cutoff LIMIT :limit FOR UPDATE SKIP LOCKED)",
+            nativeQuery = true)
+    int deletePublishedBatch(@Param("cutoff") LocalDateTime cutoff, @Param("limit") int limit);
+}
@@ -0,0 +1,93 @@
+package com.ecommerce.user_service.repository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Write-behind for successful-login bookkeeping. Logins only record the latest
+ * timestamp per user in memory; a scheduled flush writes all pending users with one
+ * JDBC batch. The UPDATE deliberately skips the {@code @Version} column, so it
+ * never conflicts with concurrent entity updates, and it never moves
+ * {@code last_login} backwards.
+ */
+@Repository
+@Slf4j
+public class LoginActivityWriter {
+
+    private static final String UPDATE_LOGIN = "UPDATE users SET last_login = ?, failed_login_attempts = 0 " +
+            "WHERE id = ? AND (last_login IS NULL OR last_login < ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Map<Long, LocalDateTime> pending = new ConcurrentHashMap<>();
+    private final Counter recorded;
+    private final Counter written;
+    private final Timer flushTimer;
+
+    public LoginActivityWriter(JdbcTemplate jdbcTemplate, MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.recorded = Counter.builder("user.login.activity.recorded")
+                .description("Successful logins recorded for write-behind")
+                .register(meterRegistry);
+        this.written = Counter.builder("user.login.activity.written")
+                .description("User rows written by write-behind flushes; recorded / written is the coalescing ratio")
+                .register(meterRegistry);
+        this.flushTimer = Timer.builder("user.login.activity.flush")
+                .description("Time to flush pending login activity")
+                .register(meterRegistry);
+        Gauge.builder("user.login.activity.pending", pending, Map::size)
+                .description("Users with login activity not yet written")
+                .register(meterRegistry);
+    }
+
+    public void recordLogin(Long userId, LocalDateTime loginTime) {
+        pending.merge(userId, loginTime, (current, next) -> next.isAfter(current) ? next : current);
+        recorded.increment();
+    }
+
+    @Scheduled(fixedDelayString = "${app.login-activity.flush-interval-ms:1000}")
+    public void flush() {
+        if (pending.isEmpty()) {
+            return;
+        }
+        flushTimer.record(() -> {
+            List<Object[]> batch = new ArrayList<>(pending.size());
+            for (Long userId : pending.keySet()) {
+                LocalDateTime loginTime = pending.remove(userId);
+                if (loginTime != null) {
+                    Timestamp timestamp = Timestamp.valueOf(loginTime);
+                    batch.add(new Object[]{timestamp, userId, timestamp});
+                }
+            }
+            try {
+                jdbcTemplate.batchUpdate(UPDATE_LOGIN, batch);
+                written.increment(batch.size());
+            } catch (RuntimeException ex) {
+                // Put the entries back unless a newer login already replaced them
+                for (Object[] row : batch) {
+                    LocalDateTime loginTime = ((Timestamp) row[0]).toLocalDateTime();
+                    pending.merge((Long) row[1], loginTime, (current, next) -> current.isAfter(next) ? current : next);
+                }
+                log.error("Failed to flush login activity for {} users", batch.size(), ex);
+            }
+        });
+    }
+
+    @PreDestroy
+    void flushOnShutdown() {
+        flush();
+    }
+}
@@ -0,0 +1,36 @@
+package com.ecommerce.user_service.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+
+/**
+ * Consumer-side deduplication for at-least-once event delivery. The id is claimed
+ * in the same transaction as the handler's writes, so it is recorded exactly when
+ * the event's effects are.
+ */
+@Repository
+public class ProcessedEventRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public ProcessedEventRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Returns false if the consumer has already handled the event.
+     */
+    public boolean markProcessed(String consumer, String eventId) {
+        return jdbcTemplate.update("INSERT INTO processed_events (consumer, event_id) VALUES (?, ?) " +
+                "ON CONFLICT DO NOTHING", consumer, eventId) == 1;
+    }
+
+    public int deleteOlderThanBatch(LocalDateTime cutoff, int limit) {
+        return jdbcTemplate.update("DELETE FROM processed_events WHERE (consumer, event_id) IN (" +
+                "SELECT consumer, event_id FROM processed_events WHERE processed_at < ? LIMIT ? FOR UPDATE SKIP LOCKED)",
+                Timestamp.valueOf(cutoff), limit);
+    }
+}
@@ -0,0 +1,44 @@
+package com.ecommerce.user_service.repository;
+
+import com.ecommerce.user_service.entity.RefreshTokenFamily;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Repository
+public interface RefreshTokenFamilyRepository extends JpaRepository<RefreshTokenFamily, UUID> {
+
+    /**
+     * Advances the family only if {@code current} is still its latest token, so two
+     * concurrent refreshes with the same token cannot both succeed.
+     */
+    @Modifying
+    @Query("UPDATE RefreshTokenFamily f SET f.currentJti = :next, f.rotatedAt = :now, f.expiresAt = :expiresAt " +
+            "WHERE f.id = :id AND f.currentJti = :current AND f.revokedAt IS NULL")
+    int rotate(@Param("id") UUID id, @Param("current") UUID current, @Param("next") UUID next,
+               @Param("now") LocalDateTime now, @Param("expiresAt") LocalDateTime expiresAt);
+
+    @Modifying
+    @Query("UPDATE RefreshTokenFamily f SET f.revokedAt = :now, f.revokedReason = :reason " +
+            "WHERE f.id = :id AND f.revokedAt IS NULL")
+    int revoke(@Param("id") UUID id, @Param("reason") String reason, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE RefreshTokenFamily f SET f.revokedAt = :now, f.revokedReason = :reason " +
+            "WHERE f.userId = :userId AND f.revokedAt IS NULL")
+    int revokeAllForUser(@Param("userId") Long userId, @Param("reason") String reason,
+                         @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Transactional
+    @Query(value = "DELETE FROM refresh_token_families WHERE id IN (" +
+            "SELECT id FROM refresh_token_families WHERE expires_at < CURRENT_TIMESTAMP LIMIT :limit FOR UPDATE SKIP LOCKED)",
+            nativeQuery = true)
+    int deleteExpiredBatch(@Param("limit") int limit);
+}
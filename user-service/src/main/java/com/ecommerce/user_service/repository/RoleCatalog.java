@@ -0,0 +1,86 @@
+package com.ecommerce.user_service.repository;
+
+import com.ecommerce.user_service.entity.Role;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Repository;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * In-memory name to id map of the (small, rarely changing) roles table. Callers get
+ * a lazy reference via {@link RoleRepository#getReferenceById}, so assigning a role
+ * to a new user costs no query at all. The map is reloaded periodically and on a
+ * miss, which picks up roles added directly in the database; miss-driven reloads
+ * are limited to one per {@code miss-refresh-interval}, so a stream of unknown
+ * role names (a bad import file, repeated searches) does not turn into one roles
+ * query each.
+ */
+@Repository
+@Slf4j
+public class RoleCatalog {
+
+    private final RoleRepository roleRepository;
+    private final long missRefreshIntervalNanos;
+    private final AtomicLong lastMissRefresh;
+    private volatile Map<String, Long> roleIds = Map.of();
+    private volatile Map<Long, String> roleNames = Map.of();
+
+    public RoleCatalog(RoleRepository roleRepository,
+                       @Value("${app.role-catalog.miss-refresh-interval:5s}") Duration missRefreshInterval) {
+        this.roleRepository = roleRepository;
+        this.missRefreshIntervalNanos = missRefreshInterval.toNanos();
+        this.lastMissRefresh = new AtomicLong(System.nanoTime() - missRefreshIntervalNanos);
+    }
+
+    public Optional<Role> findByName(String name) {
+        return findIdByName(name).map(roleRepository::getReferenceById);
+    }
+
+    public Optional<Long> findIdByName(String name) {
+        Long id = roleIds.get(name);
+        if (id == null && refreshOnMiss()) {
+            id = roleIds.get(name);
+        }
+        return Optional.ofNullable(id);
+    }
+
+    public String nameOf(Long id) {
+        String name = roleNames.get(id);
+        if (name == null && refreshOnMiss()) {
+            name = roleNames.get(id);
+        }
+        return name;
+    }
+
+    private boolean refreshOnMiss() {
+        long now = System.nanoTime();
+        long last = lastMissRefresh.get();
+        if (now - last < missRefreshIntervalNanos || !lastMissRefresh.compareAndSet(last, now)) {
+            return false;
+        }
+        refresh();
+        return true;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${app.role-catalog.refresh-interval-ms:600000}",
+            initialDelayString = "${app.role-catalog.refresh-interval-ms:600000}")
+    public void refresh() {
+        Map<String, Long> loaded = roleRepository.findAll().stream()
+                .collect(Collectors.toUnmodifiableMap(Role::getName, Role::getId));
+        if (!loaded.equals(roleIds)) {
+            log.info("Loaded role catalog: {}", loaded.keySet());
+        }
+        roleNames = loaded.entrySet().stream()
+                .collect(Collectors.toUnmodifiableMap(Map.Entry::getValue, Map.Entry::getKey));
+        roleIds = loaded;
+    }
+}
@@ -0,0 +1,31 @@
+package com.ecommerce.user_service.repository;
+
+import com.ecommerce.user_service.entity.TokenRevocation;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface TokenRevocationRepository extends JpaRepository<TokenRevocation, Long> {
+
+    List<TokenRevocation> findByExpiresAtAfter(LocalDateTime now);
+
+    List<TokenRevocation> findByRevokedAtAfterAndExpiresAtAfter(LocalDateTime since, LocalDateTime now);
+
+    List<TokenRevocation> findByRevokedAtAfterAndExpiresAtAfterAndIdGreaterThanOrderByIdAsc(
+            LocalDateTime since, LocalDateTime now, Long afterId, Limit limit);
+
+    @Modifying
+    @Transactional
+    @Query(value = "DELETE FROM token_revocations WHERE id IN (" +
+            "SELECT id FROM token_revocations WHERE expires_at < CURRENT_TIMESTAMP LIMIT :limit FOR UPDATE SKIP LOCKED)",
+            nativeQuery = true)
+    int deleteExpiredBatch(@Param("limit") int limit);
+}
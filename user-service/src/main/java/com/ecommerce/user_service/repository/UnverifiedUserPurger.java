@@ -0,0 +1,151 @@
+package com.ecommerce.user_service.repository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * Deletes accounts that never verified their email. Rows are walked in id order
+ * and removed with one set-based statement per chunk (roles and addresses go in
+ * the same statement, tokens by cascade), so no entities are loaded and every
+ * chunk commits on its own. A Postgres advisory lock keeps the job to a single
+ * replica, and a pause between chunks keeps it from saturating the database.
+ * Imported accounts are never purged: their created_at predates the import and
+ * they were never sent a verification email.
+ */
+@Repository
+@Slf4j
+public class UnverifiedUserPurger {
+
+    // Arbitrary application-wide key for pg_try_advisory_lock
+    private static final long LOCK_KEY = 0x7573657270757267L;
+
+    private static final String DELETE_CHUNK = """
+            WITH batch AS (
+                SELECT id FROM users
+                WHERE email_verified = false AND imported_at IS NULL AND status = 'PENDING_VERIFICATION'
+                  AND created_at < ? AND id > ?
+                ORDER BY id
+                LIMIT ?
+            ), deleted_roles AS (
+                DELETE FROM user_roles WHERE user_id IN (SELECT id FROM batch)
+            ), deleted_addresses AS (
+                DELETE FROM addresses WHERE user_id IN (SELECT id FROM batch)
+            )
+            DELETE FROM users WHERE id IN (SELECT id FROM batch)
+            RETURNING id
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Duration maxAge;
+    private final int chunkSize;
+    private final Duration pauseBetweenChunks;
+    private final Counter purged;
+    private final Timer runTimer;
+
+    public UnverifiedUserPurger(JdbcTemplate jdbcTemplate,
+                                MeterRegistry meterRegistry,
+                                @Value("${app.unverified-users.max-age:7d}") Duration maxAge,
+                                @Value("${app.unverified-users.chunk-size:500}") int chunkSize,
+                                @Value("${app.unverified-users.pause-between-chunks:200ms}") Duration pauseBetweenChunks) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.maxAge = maxAge;
+        this.chunkSize = chunkSize;
+        this.pauseBetweenChunks = pauseBetweenChunks;
+        this.purged = Counter.builder("users.unverified.purged")
+                .description("Unverified accounts deleted by the cleanup job")
+                .register(meterRegistry);
+        this.runTimer = Timer.builder("users.unverified.purge")
+                .description("Duration of unverified account cleanup runs")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(cron = "${app.unverified-users.cron:0 30 3 * * *}")
+    public void purge() {
+        // The advisory lock is session scoped, so the whole run stays on one connection
+        Long deleted = runTimer.record(() -> jdbcTemplate.execute((ConnectionCallback<Long>) connection -> {
+            if (!tryLock(connection)) {
+                log.debug("Unverified user cleanup already running on another instance");
+                return 0L;
+            }
+            try {
+                return purgeChunks(connection, Timestamp.valueOf(LocalDateTime.now().minus(maxAge)));
+            } finally {
+                unlock(connection);
+            }
+        }));
+
+        if (deleted != null && deleted > 0) {
+            log.info("Deleted {} unverified users older than {}", deleted, maxAge);
+        }
+    }
+
+    private long purgeChunks(Connection connection, Timestamp cutoff) throws SQLException {
+        long total = 0;
+        long lastId = 0;
+        try (PreparedStatement statement = connection.prepareStatement(DELETE_CHUNK)) {
+            while (true) {
+                statement.setTimestamp(1, cutoff);
+                statement.setLong(2, lastId);
+                statement.setInt(3, chunkSize);
+
+                int count = 0;
+                try (ResultSet rs = statement.executeQuery()) {
+                    while (rs.next()) {
+                        lastId = Math.max(lastId, rs.getLong(1));
+                        count++;
+                    }
+                }
+                if (!connection.getAutoCommit()) {
+                    connection.commit();
+                }
+                total += count;
+                purged.increment(count);
+
+                if (count < chunkSize || !pause()) {
+                    return total;
+                }
+            }
+        }
+    }
+
+    private boolean pause() {
+        try {
+            Thread.sleep(pauseBetweenChunks);
+            return true;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private static boolean tryLock(Connection connection) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement("SELECT pg_try_advisory_lock(?)")) {
+            statement.setLong(1, LOCK_KEY);
+            try (ResultSet rs = statement.executeQuery()) {
+                return rs.next() && rs.getBoolean(1);
+            }
+        }
+    }
+
+    private static void unlock(Connection connection) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement("SELECT pg_advisory_unlock(?)")) {
+            statement.setLong(1, LOCK_KEY);
+            statement.execute();
+        }
+    }
+}
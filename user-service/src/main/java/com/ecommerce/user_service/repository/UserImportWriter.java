@@ -0,0 +1,93 @@
+package com.ecommerce.user_service.repository;
+
+import com.ecommerce.user_service.dto.ImportUserRecord;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * JDBC side of the bulk import: one query to find which usernames and emails of a
+ * chunk already exist, one batched INSERT for the chunk, and one INSERT ... SELECT
+ * per role for the role assignments.
+ */
+@Repository
+public class UserImportWriter {
+
+    private static final String INSERT_USER = """
+            INSERT INTO users (username, email, password, first_name, last_name, phone_number, status,
+                               email_verified, phone_verified, failed_login_attempts, created_at, imported_at, version)
+            VALUES (:username, :email, :password, :firstName, :lastName, :phoneNumber, :status,
+                    :emailVerified, false, 0, :createdAt, :importedAt, 0)
+            ON CONFLICT DO NOTHING
+            """;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public UserImportWriter(NamedParameterJdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public record ExistingUsers(Set<String> usernames, Set<String> emails) {
+    }
+
+    /**
+     * A user to insert, with the password already encoded.
+     */
+    public record NewUser(ImportUserRecord record, String encodedPassword, String status) {
+    }
+
+    public ExistingUsers findExisting(Collection<String> usernames, Collection<String> emails) {
+        Set<String> existingUsernames = new HashSet<>();
+        Set<String> existingEmails = new HashSet<>();
+        jdbcTemplate.query("SELECT username, email FROM users WHERE username IN (:usernames) OR email IN (:emails)",
+                new MapSqlParameterSource()
+                        .addValue("usernames", usernames)
+                        .addValue("emails", emails),
+                rs -> {
+                    existingUsernames.add(rs.getString("username"));
+                    existingEmails.add(rs.getString("email"));
+                });
+        return new ExistingUsers(existingUsernames, existingEmails);
+    }
+
+    /**
+     * Returns per-row insert counts; 0 means the row lost a race with a concurrent
+     * registration of the same username or email.
+     */
+    public int[] insertUsers(List<NewUser> users) {
+        LocalDateTime now = LocalDateTime.now();
+        SqlParameterSource[] batch = new SqlParameterSource[users.size()];
+        for (int i = 0; i < users.size(); i++) {
+            NewUser user = users.get(i);
+            ImportUserRecord record = user.record();
+            batch[i] = new MapSqlParameterSource()
+                    .addValue("username", record.getUsername())
+                    .addValue("email", record.getEmail())
+                    .addValue("password", user.encodedPassword())
+                    .addValue("firstName", record.getFirstName())
+                    .addValue("lastName", record.getLastName())
+                    .addValue("phoneNumber", record.getPhoneNumber())
+                    .addValue("status", user.status())
+                    .addValue("emailVerified", Boolean.TRUE.equals(record.getEmailVerified()))
+                    .addValue("createdAt", Timestamp.valueOf(record.getCreatedAt() != null ? record.getCreatedAt() : now))
+                    .addValue("importedAt", Timestamp.valueOf(now));
+        }
+        return jdbcTemplate.batchUpdate(INSERT_USER, batch);
+    }
+
+    public int assignRole(Long roleId, Collection<String> usernames) {
+        return jdbcTemplate.update("INSERT INTO user_roles (user_id, role_id) " +
+                        "SELECT id, :roleId FROM users WHERE username IN (:usernames) ON CONFLICT DO NOTHING",
+                new MapSqlParameterSource()
+                        .addValue("roleId", roleId)
+                        .addValue("usernames", usernames));
+    }
+}
@@ -0,0 +1,205 @@
+package com.ecommerce.user_service.repository;
+
+import com.ecommerce.user_service.dto.UserSearchCriteria;
+import com.ecommerce.user_service.dto.UserSummaryDTO;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Admin user search. Reads only the summary columns, pages by keyset instead of
+ * OFFSET, and never counts; role membership is an EXISTS probe on user_roles
+ * rather than a join. Pages are ordered by the key of the most selective range
+ * filter, so the filter and the order are served by one index (see V8 and V13):
+ * an email or username prefix pages by that column, a creation range by
+ * created_at (newest first), anything else by id (newest first).
+ */
+@Repository
+public class UserSearchRepository {
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final RoleCatalog roleCatalog;
+
+    public UserSearchRepository(NamedParameterJdbcTemplate jdbcTemplate, RoleCatalog roleCatalog) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.roleCatalog = roleCatalog;
+    }
+
+    public record Page(List<UserSummaryDTO> users, String nextCursor) {
+    }
+
+    private enum SortKey {
+        // C collation so one btree index serves both the prefix LIKE and the order
+        EMAIL("lower(u.email) COLLATE \"C\"", ">"),
+        USERNAME("lower(u.username) COLLATE \"C\"", ">"),
+        CREATED_AT("u.created_at", "<"),
+        ID(null, "<");
+
+        private final String column;
+        private final String after;
+
+        SortKey(String column, String after) {
+            this.column = column;
+            this.after = after;
+        }
+
+        String orderBy() {
+            String direction = ">".equals(after) ? "" : " DESC";
+            return column == null ? "u.id" + direction : column + direction + ", u.id" + direction;
+        }
+    }
+
+    /**
+     * @throws IllegalArgumentException if the cursor is not one this search produced
+     */
+    public Page search(UserSearchCriteria criteria, Long roleId, String cursor, int size) {
+        SortKey sortKey = sortKeyFor(criteria);
+        StringBuilder sql = new StringBuilder(
+                "SELECT u.id, u.username, u.email, u.status, u.email_verified, u.last_login, u.created_at");
+        if (sortKey.column != null) {
+            sql.append(", ").append(sortKey.column).append(" AS sort_key");
+        }
+        sql.append(" FROM users u WHERE 1 = 1");
+        MapSqlParameterSource params = new MapSqlParameterSource();
+
+        if (cursor != null && !cursor.isBlank()) {
+            appendCursor(sql, params, sortKey, cursor);
+        }
+        if (criteria.getStatus() != null) {
+            sql.append(" AND u.status = :status");
+            params.addValue("status", criteria.getStatus());
+        }
+        if (criteria.getEmailVerified() != null) {
+            sql.append(" AND u.email_verified = :emailVerified");
+            params.addValue("emailVerified", criteria.getEmailVerified());
+        }
+        if (criteria.getEmailPrefix() != null) {
+            sql.append(" AND lower(u.email) COLLATE \"C\" LIKE :emailPrefix");
+            params.addValue("emailPrefix", prefixPattern(criteria.getEmailPrefix()));
+        }
+        if (criteria.getUsernamePrefix() != null) {
+            sql.append(" AND lower(u.username) COLLATE \"C\" LIKE :usernamePrefix");
+            params.addValue("usernamePrefix", prefixPattern(criteria.getUsernamePrefix()));
+        }
+        if (criteria.getCreatedFrom() != null) {
+            sql.append(" AND u.created_at >= :createdFrom");
+            params.addValue("createdFrom", Timestamp.valueOf(criteria.getCreatedFrom()));
+        }
+        if (criteria.getCreatedTo() != null) {
+            sql.append(" AND u.created_at < :createdTo");
+            params.addValue("createdTo", Timestamp.valueOf(criteria.getCreatedTo()));
+        }
+        if (roleId != null) {
+            sql.append(" AND EXISTS (SELECT 1 FROM user_roles ur WHERE ur.user_id = u.id AND ur.role_id = :roleId)");
+            params.addValue("roleId", roleId);
+        }
+        // One extra row tells whether there is a next page without counting
+        sql.append(" ORDER BY ").append(sortKey.orderBy()).append(" LIMIT :limit");
+        params.addValue("limit", size + 1);
+
+        List<String> sortValues = new ArrayList<>(size + 1);
+        List<UserSummaryDTO> users = jdbcTemplate.query(sql.toString(), params, (rs, rowNum) -> {
+            Timestamp lastLogin = rs.getTimestamp("last_login");
+            if (sortKey == SortKey.CREATED_AT) {
+                sortValues.add(rs.getTimestamp("created_at").toLocalDateTime().toString());
+            } else if (sortKey.column != null) {
+                sortValues.add(rs.getString("sort_key"));
+            }
+            return UserSummaryDTO.builder()
+                    .id(rs.getLong("id"))
+                    .username(rs.getString("username"))
+                    .email(rs.getString("email"))
+                    .status(rs.getString("status"))
+                    .emailVerified(rs.getBoolean("email_verified"))
+                    .lastLogin(lastLogin == null ? null : lastLogin.toLocalDateTime())
+                    .createdAt(rs.getTimestamp("created_at").toLocalDateTime())
+                    .roles(new ArrayList<>(2))
+                    .build();
+        });
+
+        String nextCursor = null;
+        if (users.size() > size) {
+            users = users.subList(0, size);
+            UserSummaryDTO last = users.get(size - 1);
+            nextCursor = encodeCursor(last.getId(), sortKey.column == null ? null : sortValues.get(size - 1));
+        }
+        attachRoles(users);
+        return new Page(users, nextCursor);
+    }
+
+    private static SortKey sortKeyFor(UserSearchCriteria criteria) {
+        if (criteria.getEmailPrefix() != null) {
+            return SortKey.EMAIL;
+        }
+        if (criteria.getUsernamePrefix() != null) {
+            return SortKey.USERNAME;
+        }
+        if (criteria.getCreatedFrom() != null || criteria.getCreatedTo() != null) {
+            return SortKey.CREATED_AT;
+        }
+        return SortKey.ID;
+    }
+
+    private static void appendCursor(StringBuilder sql, MapSqlParameterSource params, SortKey sortKey, String cursor) {
+        String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        int separator = decoded.indexOf(':');
+        if ((sortKey.column == null) != (separator < 0)) {
+            throw new IllegalArgumentException("Cursor does not match the search");
+        }
+        long afterId = Long.parseLong(separator < 0 ? decoded : decoded.substring(0, separator));
+        params.addValue("afterId", afterId);
+        if (sortKey.column == null) {
+            sql.append(" AND u.id < :afterId");
+            return;
+        }
+        String value = decoded.substring(separator + 1);
+        try {
+            params.addValue("afterKey", sortKey == SortKey.CREATED_AT ? Timestamp.valueOf(LocalDateTime.parse(value)) : value);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+        sql.append(" AND (").append(sortKey.column).append(", u.id) ")
+                .append(sortKey.after).append(" (:afterKey, :afterId)");
+    }
+
+    private static String encodeCursor(long id, String sortValue) {
+        String cursor = sortValue == null ? Long.toString(id) : id + ":" + sortValue;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(cursor.getBytes(StandardCharsets.UTF_8));
+    }
+
+    // One query for the whole page; names come from the in-memory role catalog
+    private void attachRoles(List<UserSummaryDTO> users) {
+        if (users.isEmpty()) {
+            return;
+        }
+        Map<Long, UserSummaryDTO> byId = HashMap.newHashMap(users.size());
+        users.forEach(user -> byId.put(user.getId(), user));
+
+        jdbcTemplate.query("SELECT user_id, role_id FROM user_roles WHERE user_id IN (:ids)",
+                new MapSqlParameterSource("ids", byId.keySet()),
+                rs -> {
+                    String roleName = roleCatalog.nameOf(rs.getLong("role_id"));
+                    if (roleName != null) {
+                        byId.get(rs.getLong("user_id")).getRoles().add(roleName);
+                    }
+                });
+    }
+
+    private static String prefixPattern(String prefix) {
+        String escaped = prefix.toLowerCase()
+                .replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_");
+        return escaped + "%";
+    }
+}
@@ -0,0 +1,42 @@
+package com.ecommerce.user_service.repository;
+
+import com.ecommerce.user_service.entity.UserToken;
+import com.ecommerce.user_service.entity.UserTokenPurpose;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+
+@Repository
+public interface UserTokenRepository extends JpaRepository<UserToken, Long> {
+
+    @Query("SELECT t FROM UserToken t JOIN FETCH t.user WHERE t.tokenHash = :tokenHash AND t.purpose = :purpose")
+    Optional<UserToken> findByTokenHashAndPurpose(@Param("tokenHash") byte[] tokenHash,
+                                                  @Param("purpose") UserTokenPurpose purpose);
+
+    /**
+     * Claims a token by deleting it; of two concurrent claims only one sees a row.
+     */
+    @Modifying
+    @Query("DELETE FROM UserToken t WHERE t.id = :id")
+    int claim(@Param("id") Long id);
+
+    @Modifying
+    @Query("DELETE FROM UserToken t WHERE t.user.id = :userId AND t.purpose = :purpose")
+    int deleteByUserIdAndPurpose(@Param("userId") Long userId, @Param("purpose") UserTokenPurpose purpose);
+
+    /**
+     * Deletes at most {@code limit} expired tokens so a purge never holds a long
+     * lock or produces one huge transaction.
+     */
+    @Modifying
+    @Transactional
+    @Query(value = "DELETE FROM user_tokens WHERE id IN (" +
+            "SELECT id FROM user_tokens WHERE expires_at < CURRENT_TIMESTAMP LIMIT :limit FOR UPDATE SKIP LOCKED)",
+            nativeQuery = true)
+    int deleteExpiredBatch(@Param("limit") int limit);
+}
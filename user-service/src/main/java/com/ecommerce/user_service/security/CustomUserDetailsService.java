@@ -2,18 +2,32 @@ package com.ecommerce.user_service.security;
 
 import com.ecommerce.user_service.entity.User;
 import com.ecommerce.user_service.repository.UserRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Duration;
+
 @Service
 @RequiredArgsConstructor
-public class CustomUserDetailsService implements UserDetailsService {
+public class CustomUserDetailsService implements UserDetailsService, UserDetailsPasswordService {
 
     private final UserRepository userRepository;
+    private final MeterRegistry meterRegistry;
+
+    // Only consulted for access tokens issued before roles were embedded as claims,
+    // so it is small and short-lived; it drains on its own once those tokens expire.
+    private final Cache<String, JwtUserPrincipal> legacyTokenPrincipals = Caffeine.newBuilder()
+            .maximumSize(10_000)
+            .expireAfterWrite(Duration.ofMinutes(5))
+            .build();
 
     @Override
     @Transactional
@@ -23,4 +37,25 @@ public class CustomUserDetailsService implements UserDetailsService {
 
         return user;
     }
+
+    // Called by the authentication provider after a successful login when the stored
+    // hash is weaker than the current encoder: another algorithm, a lower cost, or a
+    // legacy hash without an {id} prefix (including ones brought in by a bulk import).
+    @Override
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        meterRegistry.counter("password.hashing.upgraded").increment();
+        userRepository.updatePassword(user.getUsername(), newPassword);
+        if (user instanceof User entity) {
+            entity.setPassword(newPassword);
+        }
+        return user;
+    }
+
+    public JwtUserPrincipal loadPrincipalByUsername(String username) throws UsernameNotFoundException {
+        return legacyTokenPrincipals.get(username, key -> {
+            User user = userRepository.findByUsernameWithRoles(key)
+                    .orElseThrow(() -> new UsernameNotFoundException("User not found with username: " + key));
+            return JwtUserPrincipal.fromUser(user);
+        });
+    }
 }
\ No newline at end of file
@@ -0,0 +1,36 @@
+package com.ecommerce.user_service.security;
+
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+
+/**
+ * Shared secret that other services (the gateway) present in {@value #HEADER} to
+ * call {@code /internal/**}. Without a configured token every such call is
+ * refused.
+ */
+@Component
+@Slf4j
+public class InternalApiToken {
+
+    public static final String HEADER = "X-Internal-Token";
+
+    private final byte[] token;
+
+    public InternalApiToken(@Value("${app.internal.api-token:}") String token) {
+        this.token = token.getBytes(StandardCharsets.UTF_8);
+        if (token.isBlank()) {
+            log.warn("app.internal.api-token is not set; /internal endpoints refuse every request");
+        }
+    }
+
+    public boolean matches(HttpServletRequest request) {
+        String presented = request.getHeader(HEADER);
+        return token.length > 0 && presented != null
+                && MessageDigest.isEqual(token, presented.getBytes(StandardCharsets.UTF_8));
+    }
+}
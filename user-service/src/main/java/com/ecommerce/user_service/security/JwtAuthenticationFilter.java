@@ -1,5 +1,7 @@
 package com.ecommerce.user_service.security;
 
+import com.ecommerce.jwt.TokenVerification;
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -8,8 +10,6 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.util.StringUtils;
@@ -24,6 +24,7 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtTokenProvider tokenProvider;
     private final CustomUserDetailsService customUserDetailsService;
+    private final TokenRevocationList revocationList;
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
@@ -31,12 +32,16 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         try {
             String jwt = getJwtFromRequest(request);
 
-            if (StringUtils.hasText(jwt) && tokenProvider.validateToken(jwt)) {
-                String username = tokenProvider.getUsernameFromToken(jwt);
+            TokenVerification verification = StringUtils.hasText(jwt) ? tokenProvider.verify(jwt) : null;
+            if (verification != null && verification.isValid() && isUsableAccessToken(verification.claims())) {
+                Claims claims = verification.claims();
 
-                UserDetails userDetails = customUserDetailsService.loadUserByUsername(username);
+                JwtUserPrincipal principal = JwtUserPrincipal.fromClaims(claims);
+                if (principal == null) {
+                    principal = customUserDetailsService.loadPrincipalByUsername(claims.getSubject());
+                }
                 UsernamePasswordAuthenticationToken authentication =
-                        new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
+                        new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities());
                 authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
 
                 SecurityContextHolder.getContext().setAuthentication(authentication);
@@ -48,6 +53,12 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         filterChain.doFilter(request, response);
     }
 
+    // Refresh tokens are only accepted by the refresh endpoint
+    private boolean isUsableAccessToken(Claims claims) {
+        return !JwtUserPrincipal.REFRESH_TOKEN_USE.equals(claims.get(JwtUserPrincipal.TOKEN_USE_CLAIM, String.class))
+                && !revocationList.isRevoked(claims);
+    }
+
     private String getJwtFromRequest(HttpServletRequest request) {
         String bearerToken = request.getHeader("Authorization");
         if (StringUtils.hasText(bearerToken) && bearerToken.startsWith("Bearer ")) {
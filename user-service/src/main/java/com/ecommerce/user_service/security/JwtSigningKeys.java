@@ -0,0 +1,147 @@
+package com.ecommerce.user_service.security;
+
+import io.jsonwebtoken.Header;
+import io.jsonwebtoken.Locator;
+import io.jsonwebtoken.ProtectedHeader;
+import io.jsonwebtoken.security.Keys;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.core.env.Profiles;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.SecretKey;
+import java.security.GeneralSecurityException;
+import java.security.Key;
+import java.security.KeyFactory;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Token signing keys, loaded once at startup. Signs with the active Ed25519 key and
+ * resolves verification keys by {@code kid}; tokens without a {@code kid} are
+ * legacy HS512 tokens and resolve to the shared secret only when explicitly allowed,
+ * and only until the configured sunset.
+ */
+@Component
+@Slf4j
+public class JwtSigningKeys implements Locator<Key> {
+
+    private static final String ALGORITHM = "Ed25519";
+    // DER prefix of an X.509 SubjectPublicKeyInfo for Ed25519; the raw key follows.
+    private static final int X509_PREFIX_LENGTH = 12;
+    // Published in the repository, so tokens signed with it prove nothing
+    private static final String DEFAULT_SECRET = "404E635266556A586E3272357538782F413F4428472B4B6250645367566B5970";
+
+    private final String activeKeyId;
+    private final PrivateKey activePrivateKey;
+    private final Map<String, PublicKey> publicKeys;
+    private final SecretKey legacyHmacKey;
+    private final Instant legacyHmacUntil;
+    private final Map<String, Object> jwks;
+
+    public JwtSigningKeys(JwtSigningProperties properties, @Value("${app.jwt.secret}") String jwtSecret,
+                          Environment environment) {
+        Map<String, PublicKey> keys = new LinkedHashMap<>();
+        PrivateKey privateKey = null;
+        String activeId = properties.getActiveKeyId();
+
+        try {
+            KeyFactory keyFactory = KeyFactory.getInstance(ALGORITHM);
+            for (JwtSigningProperties.Key key : properties.getKeys()) {
+                keys.put(key.getId(), keyFactory.generatePublic(
+                        new X509EncodedKeySpec(Base64.getDecoder().decode(key.getPublicKey()))));
+                if (key.getId().equals(activeId)) {
+                    privateKey = keyFactory.generatePrivate(
+                            new PKCS8EncodedKeySpec(Base64.getDecoder().decode(key.getPrivateKey())));
+                }
+            }
+            if (keys.isEmpty()) {
+                // Tokens signed with this key die with the process and no other replica can
+                // verify them, so this is only allowed for local runs.
+                if (!environment.acceptsProfiles(Profiles.of("local", "dev"))) {
+                    throw new IllegalStateException("No JWT signing keys configured (app.jwt.signing.keys); "
+                            + "an ephemeral key is only generated under the local or dev profile");
+                }
+                KeyPair keyPair = KeyPairGenerator.getInstance(ALGORITHM).generateKeyPair();
+                activeId = "ephemeral-" + UUID.randomUUID();
+                keys.put(activeId, keyPair.getPublic());
+                privateKey = keyPair.getPrivate();
+                log.warn("No JWT signing keys configured, generated ephemeral key {}", activeId);
+            }
+        } catch (GeneralSecurityException | IllegalArgumentException ex) {
+            throw new IllegalStateException("Invalid JWT signing key configuration", ex);
+        }
+        if (privateKey == null) {
+            throw new IllegalStateException("Active JWT signing key not configured: " + activeId);
+        }
+
+        this.activeKeyId = activeId;
+        this.activePrivateKey = privateKey;
+        this.publicKeys = Map.copyOf(keys);
+        if (properties.isAcceptLegacyHmac()) {
+            if (properties.getLegacyHmacUntil() == null) {
+                throw new IllegalStateException("app.jwt.signing.legacy-hmac-until is required with accept-legacy-hmac");
+            }
+            if (DEFAULT_SECRET.equals(jwtSecret)) {
+                throw new IllegalStateException("Refusing legacy HS512 tokens signed with the built-in default app.jwt.secret");
+            }
+        }
+        this.legacyHmacKey = properties.isAcceptLegacyHmac() ? Keys.hmacShaKeyFor(jwtSecret.getBytes()) : null;
+        this.legacyHmacUntil = properties.getLegacyHmacUntil();
+        this.jwks = Map.of("keys", toJwks(keys));
+    }
+
+    public String getActiveKeyId() {
+        return activeKeyId;
+    }
+
+    public PrivateKey getActivePrivateKey() {
+        return activePrivateKey;
+    }
+
+    /**
+     * The public keys as an RFC 7517 JWK set.
+     */
+    public Map<String, Object> getJwks() {
+        return jwks;
+    }
+
+    @Override
+    public Key locate(Header header) {
+        String keyId = header instanceof ProtectedHeader protectedHeader ? protectedHeader.getKeyId() : null;
+        if (keyId == null) {
+            return legacyHmacKey != null && Instant.now().isBefore(legacyHmacUntil) ? legacyHmacKey : null;
+        }
+        return publicKeys.get(keyId);
+    }
+
+    private static List<Map<String, Object>> toJwks(Map<String, PublicKey> keys) {
+        List<Map<String, Object>> jwks = new ArrayList<>(keys.size());
+        keys.forEach((id, key) -> {
+            byte[] encoded = key.getEncoded();
+            byte[] raw = Arrays.copyOfRange(encoded, X509_PREFIX_LENGTH, encoded.length);
+            Map<String, Object> jwk = new LinkedHashMap<>();
+            jwk.put("kty", "OKP");
+            jwk.put("crv", ALGORITHM);
+            jwk.put("kid", id);
+            jwk.put("use", "sig");
+            jwk.put("alg", "EdDSA");
+            jwk.put("x", Base64.getUrlEncoder().withoutPadding().encodeToString(raw));
+            jwks.add(jwk);
+        });
+        return List.copyOf(jwks);
+    }
+}
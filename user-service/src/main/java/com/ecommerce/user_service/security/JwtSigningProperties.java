@@ -0,0 +1,44 @@
+package com.ecommerce.user_service.security;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Ed25519 key pairs for access and refresh tokens. Every listed key is published in
+ * the JWKS; only {@code activeKeyId} signs. To rotate, add the new key, publish it
+ * for at least one token lifetime, switch {@code activeKeyId}, then drop the old
+ * key once its tokens have expired.
+ */
+@Data
+@ConfigurationProperties(prefix = "app.jwt.signing")
+public class JwtSigningProperties {
+
+    private String activeKeyId;
+
+    private List<Key> keys = new ArrayList<>();
+
+    /**
+     * Keep accepting HS512 tokens signed with {@code app.jwt.secret} while tokens
+     * issued before the switch are still in circulation. Requires
+     * {@code legacyHmacUntil} and a secret other than the built-in default.
+     */
+    private boolean acceptLegacyHmac = false;
+
+    /**
+     * Sunset for legacy HS512 tokens; none are accepted after this instant.
+     */
+    private Instant legacyHmacUntil;
+
+    @Data
+    public static class Key {
+        private String id;
+        /** Base64 PKCS#8 encoding. */
+        private String privateKey;
+        /** Base64 X.509 encoding. */
+        private String publicKey;
+    }
+}
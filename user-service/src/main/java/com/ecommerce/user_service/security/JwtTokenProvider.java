@@ -1,21 +1,25 @@
 package com.ecommerce.user_service.security;
 
-import io.jsonwebtoken.*;
-import io.jsonwebtoken.security.Keys;
+import com.ecommerce.jwt.JwtTokenVerifier;
+import com.ecommerce.jwt.TokenVerification;
+import com.ecommerce.user_service.entity.User;
+import io.jsonwebtoken.Jwts;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Component;
 
-import javax.crypto.SecretKey;
 import java.util.Date;
+import java.util.UUID;
 
 @Component
+@RequiredArgsConstructor
 @Slf4j
 public class JwtTokenProvider {
 
-    @Value("${app.jwt.secret}")
-    private String jwtSecret;
+    private final JwtSigningKeys signingKeys;
 
     @Value("${app.jwt.access-token-expiration-ms}")
     private int accessTokenExpirationInMs;
@@ -23,66 +27,81 @@ public class JwtTokenProvider {
     @Value("${app.jwt.refresh-token-expiration-ms}")
     private int refreshTokenExpirationInMs;
 
-    private SecretKey getSigningKey() {
-        return Keys.hmacShaKeyFor(jwtSecret.getBytes());
+    private JwtTokenVerifier tokenVerifier;
+
+    @PostConstruct
+    void init() {
+        tokenVerifier = new JwtTokenVerifier(signingKeys);
     }
 
-    public String generateAccessToken(Authentication authentication) {
+    /**
+     * Access tokens carry their refresh-token family, so revoking the family also
+     * rejects the access tokens issued from it.
+     */
+    public String generateAccessToken(Authentication authentication, UUID familyId) {
         String username = authentication.getName();
         Date expiryDate = new Date(System.currentTimeMillis() + accessTokenExpirationInMs);
 
         return Jwts.builder()
-                .setSubject(username)
-                .setIssuedAt(new Date())
-                .setExpiration(expiryDate)
-                .signWith(getSigningKey(), SignatureAlgorithm.HS512)
+                .header().keyId(signingKeys.getActiveKeyId()).and()
+                .id(UUID.randomUUID().toString())
+                .subject(username)
+                .claim(JwtUserPrincipal.USER_ID_CLAIM, getUserId(authentication))
+                .claim(JwtUserPrincipal.ROLES_CLAIM, JwtUserPrincipal.roleNames(authentication.getAuthorities()))
+                .claim(JwtUserPrincipal.FAMILY_ID_CLAIM, familyId.toString())
+                .issuedAt(new Date())
+                .expiration(expiryDate)
+                .signWith(signingKeys.getActivePrivateKey(), Jwts.SIG.EdDSA)
                 .compact();
     }
 
-    public String generateRefreshToken(Authentication authentication) {
-        String username = authentication.getName();
-        Date expiryDate = new Date(System.currentTimeMillis() + refreshTokenExpirationInMs);
-
+    public String generateRefreshToken(String username, Long userId, UUID familyId, UUID tokenId, Date expiryDate) {
         return Jwts.builder()
-                .setSubject(username)
-                .setIssuedAt(new Date())
-                .setExpiration(expiryDate)
-                .signWith(getSigningKey(), SignatureAlgorithm.HS512)
+                .header().keyId(signingKeys.getActiveKeyId()).and()
+                .id(tokenId.toString())
+                .subject(username)
+                .claim(JwtUserPrincipal.USER_ID_CLAIM, userId)
+                .claim(JwtUserPrincipal.FAMILY_ID_CLAIM, familyId.toString())
+                .claim(JwtUserPrincipal.TOKEN_USE_CLAIM, JwtUserPrincipal.REFRESH_TOKEN_USE)
+                .issuedAt(new Date())
+                .expiration(expiryDate)
+                .signWith(signingKeys.getActivePrivateKey(), Jwts.SIG.EdDSA)
                 .compact();
     }
 
-    public String getUsernameFromToken(String token) {
-        Claims claims = Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
-
-        return claims.getSubject();
+    /**
+     * Parses and verifies the token once; callers read claims from the result.
+     */
+    public TokenVerification verify(String token) {
+        TokenVerification verification = tokenVerifier.verify(token);
+        switch (verification.status()) {
+            case INVALID_SIGNATURE -> log.error("Invalid JWT signature");
+            case MALFORMED -> log.error("Invalid JWT token");
+            case EXPIRED -> log.error("Expired JWT token");
+            case UNSUPPORTED -> log.error("Unsupported JWT token");
+            case EMPTY -> log.error("JWT claims string is empty");
+            default -> {
+            }
+        }
+        return verification;
     }
 
-    public boolean validateToken(String token) {
-        try {
-            Jwts.parserBuilder()
-                    .setSigningKey(getSigningKey())
-                    .build()
-                    .parseClaimsJws(token);
-            return true;
-        } catch (SecurityException ex) {
-            log.error("Invalid JWT signature");
-        } catch (MalformedJwtException ex) {
-            log.error("Invalid JWT token");
-        } catch (ExpiredJwtException ex) {
-            log.error("Expired JWT token");
-        } catch (UnsupportedJwtException ex) {
-            log.error("Unsupported JWT token");
-        } catch (IllegalArgumentException ex) {
-            log.error("JWT claims string is empty");
+    private Long getUserId(Authentication authentication) {
+        Object principal = authentication.getPrincipal();
+        if (principal instanceof User user) {
+            return user.getId();
+        }
+        if (principal instanceof JwtUserPrincipal jwtUser) {
+            return jwtUser.getId();
         }
-        return false;
+        return null;
     }
 
     public int getAccessTokenExpirationInMs() {
         return accessTokenExpirationInMs;
     }
+
+    public int getRefreshTokenExpirationInMs() {
+        return refreshTokenExpirationInMs;
+    }
 }
\ No newline at end of file
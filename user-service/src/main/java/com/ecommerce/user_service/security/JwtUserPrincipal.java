@@ -0,0 +1,94 @@
+package com.ecommerce.user_service.security;
+
+import com.ecommerce.user_service.entity.User;
+import io.jsonwebtoken.Claims;
+import lombok.Getter;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Authenticated user rebuilt from access token claims, so request authentication
+ * needs no database round trip. Carries no password.
+ */
+@Getter
+public class JwtUserPrincipal implements UserDetails {
+
+    public static final String USER_ID_CLAIM = "uid";
+    public static final String ROLES_CLAIM = "roles";
+    public static final String FAMILY_ID_CLAIM = "fid";
+    public static final String TOKEN_USE_CLAIM = "token_use";
+    public static final String REFRESH_TOKEN_USE = "refresh";
+
+    private static final String ROLE_PREFIX = "ROLE_";
+
+    private final Long id;
+    private final String username;
+    private final List<GrantedAuthority> authorities;
+
+    public JwtUserPrincipal(Long id, String username, List<GrantedAuthority> authorities) {
+        this.id = id;
+        this.username = username;
+        this.authorities = Collections.unmodifiableList(authorities);
+    }
+
+    /**
+     * Returns {@code null} for tokens issued before roles were embedded; those still
+     * need the user entity.
+     */
+    public static JwtUserPrincipal fromClaims(Claims claims) {
+        List<?> roles = claims.get(ROLES_CLAIM, List.class);
+        Number userId = claims.get(USER_ID_CLAIM, Number.class);
+        if (roles == null || userId == null) {
+            return null;
+        }
+        List<GrantedAuthority> authorities = new ArrayList<>(roles.size());
+        for (Object role : roles) {
+            authorities.add(new SimpleGrantedAuthority(ROLE_PREFIX + role));
+        }
+        return new JwtUserPrincipal(userId.longValue(), claims.getSubject(), authorities);
+    }
+
+    public static JwtUserPrincipal fromUser(User user) {
+        return new JwtUserPrincipal(user.getId(), user.getUsername(), new ArrayList<>(user.getAuthorities()));
+    }
+
+    public static List<String> roleNames(Collection<? extends GrantedAuthority> authorities) {
+        List<String> roles = new ArrayList<>(authorities.size());
+        for (GrantedAuthority authority : authorities) {
+            String name = authority.getAuthority();
+            roles.add(name.startsWith(ROLE_PREFIX) ? name.substring(ROLE_PREFIX.length()) : name);
+        }
+        return roles;
+    }
+
+    @Override
+    public String getPassword() {
+        return null;
+    }
+
+    @Override
+    public boolean isAccountNonExpired() {
+        return true;
+    }
+
+    @Override
+    public boolean isAccountNonLocked() {
+        return true;
+    }
+
+    @Override
+    public boolean isCredentialsNonExpired() {
+        return true;
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return true;
+    }
+}
@@ -0,0 +1,64 @@
+package com.ecommerce.user_service.security;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.crypto.argon2.Argon2PasswordEncoder;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.function.IntFunction;
+
+/**
+ * Startup benchmark that picks the highest cost whose median hash time on this
+ * machine stays within the target, never going below the configured floor. Each
+ * step roughly doubles the work, so the whole run costs about twice the target
+ * per sample.
+ */
+@Slf4j
+final class PasswordHashCalibrator {
+
+    private static final int SAMPLES = 3;
+    private static final String PROBE = "calibration-Pa55word!";
+
+    private PasswordHashCalibrator() {
+    }
+
+    static int calibrateBCrypt(Duration target, int minStrength) {
+        // BCrypt only accepts strengths 4..31; anything past 16 is minutes per hash
+        return calibrate("bcrypt", "strength", target, minStrength, 16, BCryptPasswordEncoder::new);
+    }
+
+    static int calibrateArgon2(Duration target, int minIterations, int memoryKib) {
+        return calibrate("argon2", "iterations", target, minIterations, 20,
+                iterations -> new Argon2PasswordEncoder(16, 32, 1, memoryKib, iterations));
+    }
+
+    private static int calibrate(String algorithm, String parameter, Duration target, int min, int max,
+                                 IntFunction<PasswordEncoder> encoderForCost) {
+        int chosen = min;
+        for (int cost = min; cost <= max; cost++) {
+            Duration median = medianHashTime(encoderForCost.apply(cost));
+            log.info("Password hashing calibration: {} {}={} takes {} ms", algorithm, parameter, cost, median.toMillis());
+            if (median.compareTo(target) > 0) {
+                break;
+            }
+            chosen = cost;
+        }
+        log.info("Password hashing calibrated: {} {}={} for a target of {} ms",
+                algorithm, parameter, chosen, target.toMillis());
+        return chosen;
+    }
+
+    private static Duration medianHashTime(PasswordEncoder encoder) {
+        encoder.encode(PROBE); // warm-up
+        long[] samples = new long[SAMPLES];
+        for (int i = 0; i < SAMPLES; i++) {
+            long start = System.nanoTime();
+            encoder.encode(PROBE);
+            samples[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(samples);
+        return Duration.ofNanos(samples[SAMPLES / 2]);
+    }
+}
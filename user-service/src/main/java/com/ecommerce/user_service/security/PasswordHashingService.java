@@ -0,0 +1,185 @@
+package com.ecommerce.user_service.security;
+
+import com.ecommerce.user_service.exception.PasswordHashingUnavailableException;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.argon2.Argon2PasswordEncoder;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs BCrypt on a fixed pool sized to the CPUs with a short bounded queue, so a
+ * burst of logins queues here instead of occupying every request thread. When the
+ * queue is full, or a queued hash would not start in time, the caller gets
+ * {@link PasswordHashingUnavailableException} (503) right away.
+ * <p>
+ * New hashes are written as {@code {id}hash} with the configured algorithm and
+ * cost; prefix-less hashes from before are read as BCrypt. Any stored hash using a
+ * different algorithm or a lower cost reports {@link #upgradeEncoding} and is
+ * re-encoded on the user's next successful login. A cost of 0 calibrates it at
+ * startup against {@code app.password-hashing.calibration.target}.
+ */
+@Component
+@Slf4j
+public class PasswordHashingService implements PasswordEncoder {
+
+    private static final String BCRYPT = "bcrypt";
+    private static final String ARGON2 = "argon2";
+
+    private final DelegatingPasswordEncoder delegate;
+    private final String algorithm;
+    private final ThreadPoolExecutor executor;
+    private final Duration timeout;
+    private final MeterRegistry meterRegistry;
+
+    public PasswordHashingService(MeterRegistry meterRegistry,
+                                  @Value("${app.password-hashing.threads:0}") int threads,
+                                  @Value("${app.password-hashing.queue-capacity:64}") int queueCapacity,
+                                  @Value("${app.password-hashing.timeout:2s}") Duration timeout,
+                                  @Value("${app.password-hashing.algorithm:bcrypt}") String algorithm,
+                                  @Value("${app.password-hashing.bcrypt.strength:10}") int bcryptStrength,
+                                  @Value("${app.password-hashing.argon2.iterations:2}") int argon2Iterations,
+                                  @Value("${app.password-hashing.argon2.memory-kib:19456}") int argon2MemoryKib,
+                                  @Value("${app.password-hashing.calibration.target:250ms}") Duration calibrationTarget) {
+        if (!BCRYPT.equals(algorithm) && !ARGON2.equals(algorithm)) {
+            throw new IllegalArgumentException("Unsupported password hashing algorithm: " + algorithm);
+        }
+        // Only the algorithm in use is calibrated; the other one just has to verify old hashes
+        int strength = bcryptStrength > 0 ? bcryptStrength
+                : BCRYPT.equals(algorithm) ? PasswordHashCalibrator.calibrateBCrypt(calibrationTarget, 10) : 10;
+        int iterations = argon2Iterations > 0 ? argon2Iterations
+                : ARGON2.equals(algorithm) ? PasswordHashCalibrator.calibrateArgon2(calibrationTarget, 2, argon2MemoryKib) : 2;
+        this.delegate = new DelegatingPasswordEncoder(algorithm, Map.of(
+                BCRYPT, new BCryptPasswordEncoder(strength),
+                ARGON2, new Argon2PasswordEncoder(16, 32, 1, argon2MemoryKib, iterations)));
+        this.delegate.setDefaultPasswordEncoderForMatches(new BCryptPasswordEncoder(strength));
+        this.algorithm = algorithm;
+        Gauge.builder("password.hashing.cost", () -> strength)
+                .description("Work factor new hashes are written with")
+                .tag("algorithm", BCRYPT)
+                .register(meterRegistry);
+        Gauge.builder("password.hashing.cost", () -> iterations)
+                .description("Work factor new hashes are written with")
+                .tag("algorithm", ARGON2)
+                .register(meterRegistry);
+
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-hashing-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        this.timeout = timeout;
+        this.meterRegistry = meterRegistry;
+        ExecutorServiceMetrics.monitor(meterRegistry, executor, "passwordHashing");
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return submit("encode", algorithm, () -> delegate.encode(rawPassword));
+    }
+
+    /**
+     * Encodes on the calling thread, bypassing the login pool. For batch work that
+     * brings its own bounded executor, such as the bulk user import.
+     */
+    public String encodeInline(CharSequence rawPassword) {
+        long started = System.nanoTime();
+        try {
+            return delegate.encode(rawPassword);
+        } finally {
+            timer("password.hashing", "encode-inline", algorithm).record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return submit("matches", algorithmOf(encodedPassword), () -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    private static String algorithmOf(String encodedPassword) {
+        if (encodedPassword != null && encodedPassword.startsWith("{")) {
+            int end = encodedPassword.indexOf('}');
+            String id = end > 0 ? encodedPassword.substring(1, end) : null;
+            return BCRYPT.equals(id) || ARGON2.equals(id) ? id : "unknown";
+        }
+        return BCRYPT;
+    }
+
+    private <T> T submit(String operation, String algorithm, Callable<T> task) {
+        long submitted = System.nanoTime();
+        Future<T> future;
+        try {
+            future = executor.submit(() -> {
+                long started = System.nanoTime();
+                timer("password.hashing.queue", operation, algorithm).record(started - submitted, TimeUnit.NANOSECONDS);
+                try {
+                    return task.call();
+                } finally {
+                    timer("password.hashing", operation, algorithm).record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+                }
+            });
+        } catch (RejectedExecutionException ex) {
+            meterRegistry.counter("password.hashing.rejected", "operation", operation).increment();
+            throw new PasswordHashingUnavailableException("Too many concurrent password operations, please retry shortly");
+        }
+
+        try {
+            return future.get(timeout.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException ex) {
+            future.cancel(true);
+            meterRegistry.counter("password.hashing.rejected", "operation", operation).increment();
+            throw new PasswordHashingUnavailableException("Password operation timed out, please retry shortly");
+        } catch (InterruptedException ex) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new PasswordHashingUnavailableException("Interrupted while waiting for password operation");
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException(ex.getCause());
+        }
+    }
+
+    private Timer timer(String name, String operation, String algorithm) {
+        return Timer.builder(name)
+                .tag("operation", operation)
+                .tag("algorithm", algorithm)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdown();
+    }
+}
@@ -0,0 +1,217 @@
+package com.ecommerce.user_service.security;
+
+import com.ecommerce.user_service.dto.TokenRevocationDTO;
+import com.ecommerce.user_service.entity.TokenRevocation;
+import com.ecommerce.user_service.repository.TokenRevocationRepository;
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Revoked token ids, refresh-token families and users, checked on every
+ * authenticated request without touching the database. A Bloom filter answers
+ * the common "not revoked" case with a few bit probes; only a filter hit consults
+ * the exact map. Revocations are persisted to {@code token_revocations}, and
+ * every instance replays new rows every few seconds, which is how they reach the
+ * other replicas.
+ */
+@Component
+@Slf4j
+public class TokenRevocationList {
+
+    private static final String TOKEN = "jti:";
+    private static final String FAMILY = "fid:";
+    private static final String USER = "uid:";
+
+    // Poll windows overlap so rows committed late (out of revoked_at order) are not missed
+    private static final Duration POLL_OVERLAP = Duration.ofSeconds(30);
+
+    private record Revocation(Instant revokedAt, Instant expiresAt) {
+    }
+
+    private final TokenRevocationRepository revocationRepository;
+    private final int expectedEntries;
+    private final double falsePositiveRate;
+    private final Map<String, Revocation> revocations = new ConcurrentHashMap<>();
+    private final Counter rejected;
+    private final Counter filterFalsePositives;
+    private volatile BloomFilter filter;
+    private volatile LocalDateTime lastPoll;
+
+    public TokenRevocationList(TokenRevocationRepository revocationRepository,
+                               MeterRegistry meterRegistry,
+                               @Value("${app.jwt.revocation.expected-entries:100000}") int expectedEntries,
+                               @Value("${app.jwt.revocation.false-positive-rate:0.01}") double falsePositiveRate) {
+        this.revocationRepository = revocationRepository;
+        this.expectedEntries = expectedEntries;
+        this.falsePositiveRate = falsePositiveRate;
+        this.filter = new BloomFilter(expectedEntries, falsePositiveRate);
+        this.rejected = Counter.builder("auth.revocations.rejected")
+                .description("Tokens rejected because they were revoked")
+                .register(meterRegistry);
+        this.filterFalsePositives = Counter.builder("auth.revocations.filter.false-positives")
+                .description("Revocation filter hits not confirmed by the exact set")
+                .register(meterRegistry);
+        Gauge.builder("auth.revocations.size", revocations, Map::size)
+                .description("Active revocations held in memory")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    void load() {
+        LocalDateTime now = LocalDateTime.now();
+        revocationRepository.findByExpiresAtAfter(now).forEach(this::apply);
+        lastPoll = now;
+        log.info("Loaded {} active token revocations", revocations.size());
+    }
+
+    public boolean isRevoked(Claims claims) {
+        Instant issuedAt = toInstant(claims.getIssuedAt());
+        Number userId = claims.get(JwtUserPrincipal.USER_ID_CLAIM, Number.class);
+        String familyId = claims.get(JwtUserPrincipal.FAMILY_ID_CLAIM, String.class);
+
+        boolean revoked = (claims.getId() != null && matches(TOKEN + claims.getId(), issuedAt))
+                || (familyId != null && matches(FAMILY + familyId, issuedAt))
+                || (userId != null && matches(USER + userId.longValue(), issuedAt));
+        if (revoked) {
+            rejected.increment();
+        }
+        return revoked;
+    }
+
+    public void revokeToken(String tokenId, Instant expiresAt) {
+        revoke(TOKEN + tokenId, expiresAt);
+    }
+
+    public void revokeFamily(String familyId, Instant expiresAt) {
+        revoke(FAMILY + familyId, expiresAt);
+    }
+
+    /**
+     * Rejects every token of the user issued before now. {@code expiresAt} must be at
+     * least the longest token lifetime, after which no such token can be valid anyway.
+     */
+    public void revokeUser(Long userId, Instant expiresAt) {
+        revoke(USER + userId, expiresAt);
+    }
+
+    /**
+     * One page, in id order, of the persisted revocations still in force that were
+     * revoked after {@code since}, for instances that keep their own list (the gateway).
+     */
+    public List<TokenRevocationDTO> findActive(Instant since, long afterId, int limit) {
+        return revocationRepository.findByRevokedAtAfterAndExpiresAtAfterAndIdGreaterThanOrderByIdAsc(
+                        LocalDateTime.ofInstant(since, ZoneId.systemDefault()), LocalDateTime.now(), afterId,
+                        Limit.of(limit))
+                .stream()
+                .map(row -> TokenRevocationDTO.builder()
+                        .id(row.getId())
+                        .key(row.getRevokedKey())
+                        .revokedAt(row.getRevokedAt().atZone(ZoneId.systemDefault()).toInstant())
+                        .expiresAt(row.getExpiresAt().atZone(ZoneId.systemDefault()).toInstant())
+                        .build())
+                .toList();
+    }
+
+    @Scheduled(fixedDelayString = "${app.jwt.revocation.poll-interval-ms:2000}")
+    public void poll() {
+        LocalDateTime now = LocalDateTime.now();
+        List<TokenRevocation> recent = revocationRepository.findByRevokedAtAfterAndExpiresAtAfter(
+                lastPoll.minus(POLL_OVERLAP), now);
+        recent.forEach(this::apply);
+        lastPoll = now;
+    }
+
+    /**
+     * Drops expired entries and rebuilds the filter, which cannot delete, sized for
+     * what is left.
+     */
+    @Scheduled(fixedDelayString = "${app.jwt.revocation.maintenance-interval-ms:600000}")
+    public void compact() {
+        Instant now = Instant.now();
+        revocations.values().removeIf(revocation -> revocation.expiresAt().isBefore(now));
+
+        BloomFilter rebuilt = new BloomFilter(Math.max(expectedEntries, revocations.size() * 2), falsePositiveRate);
+        revocations.keySet().forEach(rebuilt::put);
+        filter = rebuilt;
+        // Anything added while rebuilding went into the old filter only
+        revocations.keySet().forEach(rebuilt::put);
+
+        int deleted;
+        do {
+            deleted = revocationRepository.deleteExpiredBatch(1000);
+        } while (deleted == 1000);
+    }
+
+    private void revoke(String key, Instant expiresAt) {
+        Instant now = Instant.now();
+        revocationRepository.save(TokenRevocation.builder()
+                .revokedKey(key)
+                .revokedAt(LocalDateTime.ofInstant(now, ZoneId.systemDefault()))
+                .expiresAt(LocalDateTime.ofInstant(expiresAt, ZoneId.systemDefault()))
+                .build());
+
+        Revocation revocation = new Revocation(now, expiresAt);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    apply(key, revocation);
+                }
+            });
+        } else {
+            apply(key, revocation);
+        }
+    }
+
+    private void apply(TokenRevocation row) {
+        apply(row.getRevokedKey(), new Revocation(
+                row.getRevokedAt().atZone(ZoneId.systemDefault()).toInstant(),
+                row.getExpiresAt().atZone(ZoneId.systemDefault()).toInstant()));
+    }
+
+    private void apply(String key, Revocation revocation) {
+        revocations.merge(key, revocation, (current, next) -> next.revokedAt().isAfter(current.revokedAt()) ? next : current);
+        filter.put(key);
+    }
+
+    private boolean matches(String key, Instant issuedAt) {
+        if (!filter.mightContain(key)) {
+            return false;
+        }
+        Revocation revocation = revocations.get(key);
+        if (revocation == null) {
+            filterFalsePositives.increment();
+            return false;
+        }
+        if (!key.startsWith(USER)) {
+            return true;
+        }
+        // iat has second precision: tokens from the second of the revocation stay
+        // valid, so a login right after a password change is not rejected
+        return issuedAt == null || issuedAt.isBefore(revocation.revokedAt().truncatedTo(ChronoUnit.SECONDS));
+    }
+
+    private static Instant toInstant(Date date) {
+        return date == null ? null : date.toInstant();
+    }
+}
@@ -0,0 +1,82 @@
+package com.ecommerce.user_service.security.throttle;
+
+import com.ecommerce.user_service.exception.TooManyLoginAttemptsException;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Per-instance limiter. Counters live in bounded Caffeine caches (internally
+ * striped) and expire once idle for a full window, so a spray of distinct
+ * usernames or IPs cannot grow memory without bound.
+ */
+@Component
+@ConditionalOnProperty(name = "app.login-throttling.mode", havingValue = "memory", matchIfMissing = true)
+public class InMemoryLoginAttemptLimiter implements LoginAttemptLimiter {
+
+    private static final int BUCKETS = 15;
+
+    private final Duration window;
+    private final int maxFailuresPerAccount;
+    private final int maxFailuresPerIp;
+    private final Cache<String, SlidingWindowCounter> accountFailures;
+    private final Cache<String, SlidingWindowCounter> ipFailures;
+    private final MeterRegistry meterRegistry;
+
+    public InMemoryLoginAttemptLimiter(MeterRegistry meterRegistry,
+                                       @Value("${app.login-throttling.window:15m}") Duration window,
+                                       @Value("${app.login-throttling.max-failures-per-account:5}") int maxFailuresPerAccount,
+                                       @Value("${app.login-throttling.max-failures-per-ip:50}") int maxFailuresPerIp,
+                                       @Value("${app.login-throttling.max-tracked-keys:100000}") long maxTrackedKeys) {
+        this.window = window;
+        this.maxFailuresPerAccount = maxFailuresPerAccount;
+        this.maxFailuresPerIp = maxFailuresPerIp;
+        this.accountFailures = Caffeine.newBuilder().maximumSize(maxTrackedKeys).expireAfterAccess(window).build();
+        this.ipFailures = Caffeine.newBuilder().maximumSize(maxTrackedKeys).expireAfterAccess(window).build();
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public void checkAllowed(String account, String clientIp) {
+        long now = System.currentTimeMillis();
+        SlidingWindowCounter accountCounter = accountFailures.getIfPresent(account);
+        if (accountCounter != null && accountCounter.sum(now) >= maxFailuresPerAccount) {
+            reject("account");
+        }
+        SlidingWindowCounter ipCounter = clientIp == null ? null : ipFailures.getIfPresent(clientIp);
+        if (ipCounter != null && ipCounter.sum(now) >= maxFailuresPerIp) {
+            reject("ip");
+        }
+    }
+
+    @Override
+    public long recordFailure(String account, String clientIp) {
+        long now = System.currentTimeMillis();
+        if (clientIp != null) {
+            ipFailures.get(clientIp, key -> newCounter()).increment(now);
+        }
+        return accountFailures.get(account, key -> newCounter()).increment(now);
+    }
+
+    @Override
+    public void recordSuccess(String account) {
+        SlidingWindowCounter counter = accountFailures.getIfPresent(account);
+        if (counter != null) {
+            counter.reset();
+        }
+    }
+
+    private SlidingWindowCounter newCounter() {
+        return new SlidingWindowCounter(window.toMillis(), BUCKETS);
+    }
+
+    private void reject(String scope) {
+        meterRegistry.counter("user.login.throttled", "scope", scope).increment();
+        throw new TooManyLoginAttemptsException("Too many failed login attempts. Please try again later.", window);
+    }
+}
@@ -0,0 +1,23 @@
+package com.ecommerce.user_service.security.throttle;
+
+import com.ecommerce.user_service.exception.TooManyLoginAttemptsException;
+
+/**
+ * Tracks failed logins per account identifier and per client IP over a sliding
+ * window, and turns away callers that exceeded either limit before any database
+ * or password hashing work is done.
+ */
+public interface LoginAttemptLimiter {
+
+    /**
+     * @throws TooManyLoginAttemptsException if the account or the IP is over its limit
+     */
+    void checkAllowed(String account, String clientIp);
+
+    /**
+     * Records a failed attempt and returns the account's failures within the window.
+     */
+    long recordFailure(String account, String clientIp);
+
+    void recordSuccess(String account);
+}
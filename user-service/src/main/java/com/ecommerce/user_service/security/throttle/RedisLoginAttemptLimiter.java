@@ -0,0 +1,109 @@
+package com.ecommerce.user_service.security.throttle;
+
+import com.ecommerce.user_service.exception.TooManyLoginAttemptsException;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Limiter shared by all replicas. Each key is a sorted set of failure timestamps;
+ * one pipelined round trip trims entries older than the window, adds the new
+ * failure and reads the count.
+ */
+@Component
+@ConditionalOnProperty(name = "app.login-throttling.mode", havingValue = "redis")
+public class RedisLoginAttemptLimiter implements LoginAttemptLimiter {
+
+    private static final String ACCOUNT_PREFIX = "login-failures:account:";
+    private static final String IP_PREFIX = "login-failures:ip:";
+
+    private final StringRedisTemplate redisTemplate;
+    private final Duration window;
+    private final int maxFailuresPerAccount;
+    private final int maxFailuresPerIp;
+    private final MeterRegistry meterRegistry;
+
+    public RedisLoginAttemptLimiter(StringRedisTemplate redisTemplate, MeterRegistry meterRegistry,
+                                    @Value("${app.login-throttling.window:15m}") Duration window,
+                                    @Value("${app.login-throttling.max-failures-per-account:5}") int maxFailuresPerAccount,
+                                    @Value("${app.login-throttling.max-failures-per-ip:50}") int maxFailuresPerIp) {
+        this.redisTemplate = redisTemplate;
+        this.window = window;
+        this.maxFailuresPerAccount = maxFailuresPerAccount;
+        this.maxFailuresPerIp = maxFailuresPerIp;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public void checkAllowed(String account, String clientIp) {
+        long windowStart = System.currentTimeMillis() - window.toMillis();
+        List<Object> counts = redisTemplate.executePipelined(new SessionCallback<Object>() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public Object execute(RedisOperations operations) throws DataAccessException {
+                operations.opsForZSet().count(ACCOUNT_PREFIX + account, windowStart, Double.MAX_VALUE);
+                if (clientIp != null) {
+                    operations.opsForZSet().count(IP_PREFIX + clientIp, windowStart, Double.MAX_VALUE);
+                }
+                return null;
+            }
+        });
+        if (count(counts, 0) >= maxFailuresPerAccount) {
+            reject("account");
+        }
+        if (clientIp != null && count(counts, 1) >= maxFailuresPerIp) {
+            reject("ip");
+        }
+    }
+
+    @Override
+    public long recordFailure(String account, String clientIp) {
+        long now = System.currentTimeMillis();
+        long windowStart = now - window.toMillis();
+        String member = now + ":" + UUID.randomUUID();
+        List<Object> results = redisTemplate.executePipelined(new SessionCallback<Object>() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public Object execute(RedisOperations operations) throws DataAccessException {
+                record(operations, ACCOUNT_PREFIX + account, member, now, windowStart);
+                if (clientIp != null) {
+                    record(operations, IP_PREFIX + clientIp, member, now, windowStart);
+                }
+                return null;
+            }
+        });
+        // removeRangeByScore, add, zCard, expire per key: the account's zCard is the third result
+        return count(results, 2);
+    }
+
+    @Override
+    public void recordSuccess(String account) {
+        redisTemplate.delete(ACCOUNT_PREFIX + account);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void record(RedisOperations operations, String key, String member, long now, long windowStart) {
+        operations.opsForZSet().removeRangeByScore(key, 0, windowStart);
+        operations.opsForZSet().add(key, member, now);
+        operations.opsForZSet().zCard(key);
+        operations.expire(key, window);
+    }
+
+    private static long count(List<Object> results, int index) {
+        return index < results.size() && results.get(index) instanceof Number number ? number.longValue() : 0;
+    }
+
+    private void reject(String scope) {
+        meterRegistry.counter("user.login.throttled", "scope", scope).increment();
+        throw new TooManyLoginAttemptsException("Too many failed login attempts. Please try again later.", window);
+    }
+}
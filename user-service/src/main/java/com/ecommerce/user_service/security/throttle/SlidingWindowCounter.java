@@ -0,0 +1,54 @@
+package com.ecommerce.user_service.security.throttle;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free sliding window counter made of fixed time buckets. Each bucket holds
+ * the slot number it was last used for, so stale buckets are recognised and
+ * recycled without a background sweeper. Under a race two increments may land in
+ * a bucket that is being recycled and one may be lost, which is fine for throttling.
+ */
+class SlidingWindowCounter {
+
+    private final long bucketMillis;
+    private final AtomicLongArray slots;
+    private final AtomicLongArray counts;
+
+    SlidingWindowCounter(long windowMillis, int buckets) {
+        this.bucketMillis = Math.max(1, windowMillis / buckets);
+        this.slots = new AtomicLongArray(buckets);
+        this.counts = new AtomicLongArray(buckets);
+        for (int i = 0; i < buckets; i++) {
+            slots.set(i, -1);
+        }
+    }
+
+    long increment(long nowMillis) {
+        long slot = nowMillis / bucketMillis;
+        int index = (int) (slot % slots.length());
+        long current = slots.get(index);
+        if (current != slot && slots.compareAndSet(index, current, slot)) {
+            counts.set(index, 0);
+        }
+        counts.incrementAndGet(index);
+        return sum(nowMillis);
+    }
+
+    long sum(long nowMillis) {
+        long oldest = nowMillis / bucketMillis - slots.length() + 1;
+        long total = 0;
+        for (int i = 0; i < slots.length(); i++) {
+            if (slots.get(i) >= oldest) {
+                total += counts.get(i);
+            }
+        }
+        return total;
+    }
+
+    void reset() {
+        for (int i = 0; i < slots.length(); i++) {
+            slots.set(i, -1);
+            counts.set(i, 0);
+        }
+    }
+}
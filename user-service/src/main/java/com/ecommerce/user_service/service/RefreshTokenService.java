@@ -0,0 +1,10 @@
+package com.ecommerce.user_service.service;
+
+import com.ecommerce.user_service.dto.LoginResponse;
+import org.springframework.security.core.Authentication;
+
+public interface RefreshTokenService {
+    LoginResponse issueTokens(Authentication authentication, Long userId);
+    LoginResponse refresh(String refreshToken);
+    void revokeAllForUser(Long userId, String reason);
+}
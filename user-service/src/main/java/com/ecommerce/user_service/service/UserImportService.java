@@ -0,0 +1,12 @@
+package com.ecommerce.user_service.service;
+
+import com.ecommerce.user_service.dto.UserImportSummary;
+
+import java.io.InputStream;
+import java.util.List;
+
+public interface UserImportService {
+    UserImportSummary importUsers(InputStream ndjson);
+    UserImportSummary getImport(String jobId);
+    List<UserImportSummary> getImports();
+}
@@ -6,7 +6,8 @@ import org.springframework.data.domain.Pageable;
 
 public interface UserService {
     UserDTO registerUser(RegisterRequest request);
-    LoginResponse login(LoginRequest request);
+    LoginResponse login(LoginRequest request, String clientIp);
+    LoginResponse refreshToken(RefreshTokenRequest request);
     UserDTO getUserById(Long id);
     UserDTO getUserByUsername(String username);
     UserDTO updateUser(Long id, UpdateUserRequest request);
@@ -16,6 +17,7 @@ public interface UserService {
     void verifyEmail(String token);
     void resendVerificationEmail(String email);
     Page<UserDTO> getAllUsers(Pageable pageable);
+    UserSearchResponse searchUsers(UserSearchCriteria criteria);
     void deleteUser(Long id);
     void lockUser(Long id);
     void unlockUser(Long id);
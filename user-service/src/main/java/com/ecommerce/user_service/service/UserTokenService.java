@@ -0,0 +1,12 @@
+package com.ecommerce.user_service.service;
+
+import com.ecommerce.user_service.entity.User;
+import com.ecommerce.user_service.entity.UserTokenPurpose;
+
+import java.time.Duration;
+
+public interface UserTokenService {
+    String issueToken(User user, UserTokenPurpose purpose, Duration validity);
+    User consumeToken(String token, UserTokenPurpose purpose);
+    void revokeTokens(User user, UserTokenPurpose purpose);
+}
@@ -1,25 +1,30 @@
 package com.ecommerce.user_service.service.impl;
 
+import com.ecommerce.user_service.cache.UserProfileCache;
 import com.ecommerce.user_service.dto.AddressDTO;
 import com.ecommerce.user_service.dto.CreateAddressRequest;
 import com.ecommerce.user_service.entity.Address;
-import com.ecommerce.user_service.entity.User;
 import com.ecommerce.user_service.exception.AddressNotFoundException;
 import com.ecommerce.user_service.exception.UserNotFoundException;
 import com.ecommerce.user_service.mapper.AddressMapper;
 import com.ecommerce.user_service.repository.AddressRepository;
 import com.ecommerce.user_service.repository.UserRepository;
 import com.ecommerce.user_service.service.AddressService;
-import lombok.RequiredArgsConstructor;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.time.Duration;
 import java.util.List;
-import java.util.stream.Collectors;
 
 @Service
-@RequiredArgsConstructor
 @Slf4j
 @Transactional
 public class AddressServiceImpl implements AddressService {
@@ -27,28 +32,50 @@ public class AddressServiceImpl implements AddressService {
     private final AddressRepository addressRepository;
     private final UserRepository userRepository;
     private final AddressMapper addressMapper;
+    private final UserProfileCache userProfileCache;
+
+    // Checkout reads a user's addresses on every order; entries are dropped on every address write,
+    // on any replica
+    private final Cache<Long, List<AddressDTO>> userAddresses;
+
+    public AddressServiceImpl(AddressRepository addressRepository,
+                              UserRepository userRepository,
+                              AddressMapper addressMapper,
+                              UserProfileCache userProfileCache,
+                              MeterRegistry meterRegistry,
+                              @Value("${app.address-cache.max-size:50000}") long maxSize,
+                              @Value("${app.address-cache.ttl:10m}") Duration ttl) {
+        this.addressRepository = addressRepository;
+        this.userRepository = userRepository;
+        this.addressMapper = addressMapper;
+        this.userProfileCache = userProfileCache;
+        this.userAddresses = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, userAddresses, "userAddresses");
+        // Address writes on other replicas reach this one as profile invalidations
+        userProfileCache.addInvalidationListener(userAddresses::invalidate);
+    }
 
     @Override
     public AddressDTO createAddress(Long userId, CreateAddressRequest request) {
         log.info("Creating address for user: {}", userId);
 
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new UserNotFoundException("User not found with id: " + userId));
-
-        // If this is the first address or set as default, make it default
-        List<Address> existingAddresses = addressRepository.findByUserId(userId);
-        boolean shouldBeDefault = existingAddresses.isEmpty() || request.getIsDefault();
+        if (!userRepository.existsById(userId)) {
+            throw new UserNotFoundException("User not found with id: " + userId);
+        }
 
-        // If setting as default, unset other defaults
+        // The first address is always the default; a new default replaces the old one with
+        // a single UPDATE, and the partial unique index rejects a concurrent second default
+        boolean shouldBeDefault = request.getIsDefault() || !addressRepository.existsByUserIdAndIsDefaultTrue(userId);
         if (shouldBeDefault) {
-            existingAddresses.forEach(addr -> {
-                addr.setIsDefault(false);
-                addressRepository.save(addr);
-            });
+            addressRepository.clearDefault(userId);
         }
 
         Address address = Address.builder()
-                .user(user)
+                .user(userRepository.getReferenceById(userId))
                 .street(request.getStreet())
                 .city(request.getCity())
                 .state(request.getState())
@@ -59,6 +86,7 @@ public class AddressServiceImpl implements AddressService {
                 .build();
 
         Address savedAddress = addressRepository.save(address);
+        evictAfterCommit(userId);
         log.info("Address created successfully with ID: {}", savedAddress.getId());
 
         return addressMapper.toDTO(savedAddress);
@@ -78,6 +106,7 @@ public class AddressServiceImpl implements AddressService {
         address.setType(request.getType());
 
         Address updatedAddress = addressRepository.save(address);
+        evictAfterCommit(userId);
         return addressMapper.toDTO(updatedAddress);
     }
 
@@ -92,22 +121,18 @@ public class AddressServiceImpl implements AddressService {
 
         // If deleted address was default, set another as default
         if (wasDefault) {
-            List<Address> remainingAddresses = addressRepository.findByUserId(userId);
-            if (!remainingAddresses.isEmpty()) {
-                Address newDefault = remainingAddresses.get(0);
-                newDefault.setIsDefault(true);
-                addressRepository.save(newDefault);
-            }
+            addressRepository.promoteOldest(userId);
         }
+        evictAfterCommit(userId);
     }
 
     @Override
     @Transactional(readOnly = true)
     public List<AddressDTO> getUserAddresses(Long userId) {
         log.debug("Fetching addresses for user: {}", userId);
-        return addressRepository.findByUserId(userId).stream()
+        return userAddresses.get(userId, key -> addressRepository.findByUserId(key).stream()
                 .map(addressMapper::toDTO)
-                .collect(Collectors.toList());
+                .toList());
     }
 
     @Override
@@ -122,28 +147,32 @@ public class AddressServiceImpl implements AddressService {
     public void setDefaultAddress(Long userId, Long addressId) {
         log.info("Setting default address {} for user: {}", addressId, userId);
 
-        Address address = getAddressForUser(userId, addressId);
-
-        // Unset current default
-        List<Address> currentDefaults = addressRepository.findByUserIdAndIsDefaultTrue(userId);
-        currentDefaults.forEach(addr -> {
-            addr.setIsDefault(false);
-            addressRepository.save(addr);
-        });
+        getAddressForUser(userId, addressId);
 
-        // Set new default
-        address.setIsDefault(true);
-        addressRepository.save(address);
+        // Unset current default, then set the new one; two statements because the
+        // unique index on the default address is checked row by row
+        addressRepository.clearDefault(userId);
+        addressRepository.markDefault(userId, addressId);
+        evictAfterCommit(userId);
     }
 
     private Address getAddressForUser(Long userId, Long addressId) {
-        Address address = addressRepository.findById(addressId)
+        return addressRepository.findByIdAndUserId(addressId, userId)
                 .orElseThrow(() -> new AddressNotFoundException("Address not found with id: " + addressId));
+    }
 
-        if (!address.getUser().getId().equals(userId)) {
-            throw new AddressNotFoundException("Address not found for user");
+    // Evicting again after completion keeps a concurrent read from caching pre-commit rows
+    private void evictAfterCommit(Long userId) {
+        // Profiles embed the address list
+        userProfileCache.evict(userId);
+        userAddresses.invalidate(userId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    userAddresses.invalidate(userId);
+                }
+            });
         }
-
-        return address;
     }
 }
\ No newline at end of file
@@ -1,19 +1,28 @@
 package com.ecommerce.user_service.service.impl;
 
+import com.ecommerce.user_service.entity.EmailOutboxMessage;
+import com.ecommerce.user_service.repository.EmailOutboxRepository;
 import com.ecommerce.user_service.service.EmailService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.mail.SimpleMailMessage;
-import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+
+/**
+ * Emails are written to the outbox in the caller's transaction, so they are sent
+ * only if that transaction commits, and without SMTP latency on the request path.
+ * {@link com.ecommerce.user_service.outbox.EmailOutboxDispatcher} delivers them.
+ */
 @Service
 @RequiredArgsConstructor
 @Slf4j
+@Transactional
 public class EmailServiceImpl implements EmailService {
 
-    private final JavaMailSender mailSender;
+    private final EmailOutboxRepository emailOutboxRepository;
 
     @Value("${app.email.from}")
     private String fromEmail;
@@ -23,50 +32,47 @@ public class EmailServiceImpl implements EmailService {
 
     @Override
     public void sendVerificationEmail(String to, String token) {
-        log.info("Sending verification email to: {}", to);
+        log.info("Queueing verification email to: {}", to);
 
-        SimpleMailMessage message = new SimpleMailMessage();
-        message.setFrom(fromEmail);
-        message.setTo(to);
-        message.setSubject("Verify Your Email");
-        message.setText("Please click the link below to verify your email:\n\n" +
+        enqueue(to, "Verify Your Email",
+                "Please click the link below to verify your email:\n\n" +
                 frontendUrl + "/verify-email?token=" + token + "\n\n" +
                 "This link will expire in 24 hours.");
 
-        mailSender.send(message);
-        log.info("Verification email sent successfully");
+        log.info("Verification email queued");
     }
 
     @Override
     public void sendPasswordResetEmail(String to, String token) {
-        log.info("Sending password reset email to: {}", to);
+        log.info("Queueing password reset email to: {}", to);
 
-        SimpleMailMessage message = new SimpleMailMessage();
-        message.setFrom(fromEmail);
-        message.setTo(to);
-        message.setSubject("Password Reset Request");
-        message.setText("Please click the link below to reset your password:\n\n" +
+        enqueue(to, "Password Reset Request",
+                "Please click the link below to reset your password:\n\n" +
                 frontendUrl + "/reset-password?token=" + token + "\n\n" +
                 "This link will expire in 2 hours. If you did not request this, please ignore this email.");
 
-        mailSender.send(message);
-        log.info("Password reset email sent successfully");
+        log.info("Password reset email queued");
     }
 
     @Override
     public void sendWelcomeEmail(String to, String name) {
-        log.info("Sending welcome email to: {}", to);
+        log.info("Queueing welcome email to: {}", to);
 
-        SimpleMailMessage message = new SimpleMailMessage();
-        message.setFrom(fromEmail);
-        message.setTo(to);
-        message.setSubject("Welcome to E-Commerce Platform!");
-        message.setText("Hello " + name + ",\n\n" +
+        enqueue(to, "Welcome to E-Commerce Platform!",
+                "Hello " + name + ",\n\n" +
                 "Welcome to our E-Commerce platform! Your account has been successfully created.\n\n" +
                 "Start shopping now at: " + frontendUrl + "\n\n" +
                 "Best regards,\nThe E-Commerce Team");
 
-        mailSender.send(message);
-        log.info("Welcome email sent successfully");
+        log.info("Welcome email queued");
+    }
+
+    private void enqueue(String to, String subject, String body) {
+        emailOutboxRepository.save(EmailOutboxMessage.builder()
+                .recipient(to)
+                .subject(subject)
+                .body(body)
+                .nextAttemptAt(LocalDateTime.now())
+                .build());
     }
 }
\ No newline at end of file
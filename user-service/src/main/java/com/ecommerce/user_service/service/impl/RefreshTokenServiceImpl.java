@@ -0,0 +1,173 @@
+package com.ecommerce.user_service.service.impl;
+
+import com.ecommerce.jwt.TokenVerification;
+import com.ecommerce.user_service.dto.LoginResponse;
+import com.ecommerce.user_service.entity.RefreshTokenFamily;
+import com.ecommerce.user_service.entity.User;
+import com.ecommerce.user_service.exception.InvalidTokenException;
+import com.ecommerce.user_service.exception.TokenExpiredException;
+import com.ecommerce.user_service.repository.RefreshTokenFamilyRepository;
+import com.ecommerce.user_service.repository.UserRepository;
+import com.ecommerce.user_service.security.JwtTokenProvider;
+import com.ecommerce.user_service.security.JwtUserPrincipal;
+import com.ecommerce.user_service.security.TokenRevocationList;
+import com.ecommerce.user_service.service.RefreshTokenService;
+import io.jsonwebtoken.Claims;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.UUID;
+
+/**
+ * Refresh-token rotation. Every login starts a token family; each refresh replaces
+ * the family's current token id, and presenting a superseded refresh token (a
+ * stolen copy, or a replay) revokes the whole family along with the access tokens
+ * issued from it.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional(noRollbackFor = InvalidTokenException.class)
+public class RefreshTokenServiceImpl implements RefreshTokenService {
+
+    private final RefreshTokenFamilyRepository familyRepository;
+    private final UserRepository userRepository;
+    private final JwtTokenProvider tokenProvider;
+    private final TokenRevocationList revocationList;
+
+    @Value("${app.jwt.refresh-family-max-lifetime:30d}")
+    private Duration familyMaxLifetime;
+
+    @Override
+    public LoginResponse issueTokens(Authentication authentication, Long userId) {
+        UUID familyId = UUID.randomUUID();
+        UUID tokenId = UUID.randomUUID();
+        Date expiry = refreshTokenExpiry();
+
+        familyRepository.save(RefreshTokenFamily.builder()
+                .id(familyId)
+                .userId(userId)
+                .currentJti(tokenId)
+                .expiresAt(toLocalDateTime(expiry.toInstant()))
+                .build());
+
+        return tokens(authentication, userId, familyId, tokenId, expiry);
+    }
+
+    @Override
+    public LoginResponse refresh(String refreshToken) {
+        TokenVerification verification = tokenProvider.verify(refreshToken);
+        if (verification.status() == TokenVerification.Status.EXPIRED) {
+            throw new TokenExpiredException("Refresh token has expired");
+        }
+        Claims claims = verification.claims();
+        if (!verification.isValid()
+                || !JwtUserPrincipal.REFRESH_TOKEN_USE.equals(claims.get(JwtUserPrincipal.TOKEN_USE_CLAIM, String.class))) {
+            throw new InvalidTokenException("Invalid refresh token");
+        }
+
+        UUID familyId = parseId(claims.get(JwtUserPrincipal.FAMILY_ID_CLAIM, String.class));
+        UUID tokenId = parseId(claims.getId());
+        RefreshTokenFamily family = familyRepository.findById(familyId)
+                .orElseThrow(() -> new InvalidTokenException("Invalid refresh token"));
+
+        if (family.getRevokedAt() != null || revocationList.isRevoked(claims)) {
+            throw new InvalidTokenException("Refresh token has been revoked");
+        }
+        if (!family.getCurrentJti().equals(tokenId)) {
+            log.warn("Refresh token reuse detected for user {}, revoking token family {}", family.getUserId(), familyId);
+            revokeFamily(family, "REUSED");
+            throw new InvalidTokenException("Refresh token has already been used");
+        }
+        if (family.getCreatedAt().plus(familyMaxLifetime).isBefore(LocalDateTime.now())) {
+            throw new TokenExpiredException("Session has expired, please log in again");
+        }
+
+        User user = userRepository.findByIdWithRoles(family.getUserId())
+                .orElseThrow(() -> new InvalidTokenException("Invalid refresh token"));
+        if (!user.isEnabled() || !user.isAccountNonLocked()) {
+            revokeFamily(family, "ACCOUNT_DISABLED");
+            throw new InvalidTokenException("Refresh token has been revoked");
+        }
+
+        UUID nextTokenId = UUID.randomUUID();
+        Date expiry = refreshTokenExpiry();
+        int rotated = familyRepository.rotate(familyId, tokenId, nextTokenId, LocalDateTime.now(),
+                toLocalDateTime(expiry.toInstant()));
+        if (rotated == 0) {
+            // Another request rotated the same token first
+            log.warn("Concurrent refresh detected for user {}, revoking token family {}", family.getUserId(), familyId);
+            revokeFamily(family, "REUSED");
+            throw new InvalidTokenException("Refresh token has already been used");
+        }
+
+        JwtUserPrincipal principal = JwtUserPrincipal.fromUser(user);
+        Authentication authentication = new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities());
+        return tokens(authentication, user.getId(), familyId, nextTokenId, expiry);
+    }
+
+    @Override
+    public void revokeAllForUser(Long userId, String reason) {
+        int families = familyRepository.revokeAllForUser(userId, reason, LocalDateTime.now());
+        long longestLifetimeMs = Math.max(tokenProvider.getAccessTokenExpirationInMs(),
+                tokenProvider.getRefreshTokenExpirationInMs());
+        revocationList.revokeUser(userId, Instant.now().plusMillis(longestLifetimeMs));
+        log.info("Revoked tokens of user {} ({} refresh token families): {}", userId, families, reason);
+    }
+
+    @Scheduled(fixedDelayString = "${app.jwt.refresh-family-purge-interval-ms:3600000}")
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void purgeExpiredFamilies() {
+        int deleted;
+        do {
+            deleted = familyRepository.deleteExpiredBatch(1000);
+        } while (deleted == 1000);
+    }
+
+    private void revokeFamily(RefreshTokenFamily family, String reason) {
+        familyRepository.revoke(family.getId(), reason, LocalDateTime.now());
+        // Access tokens of the family never outlive its last refresh token
+        revocationList.revokeFamily(family.getId().toString(),
+                family.getExpiresAt().atZone(ZoneId.systemDefault()).toInstant());
+    }
+
+    private LoginResponse tokens(Authentication authentication, Long userId, UUID familyId, UUID tokenId, Date expiry) {
+        return LoginResponse.builder()
+                .accessToken(tokenProvider.generateAccessToken(authentication, familyId))
+                .refreshToken(tokenProvider.generateRefreshToken(authentication.getName(), userId, familyId, tokenId, expiry))
+                .tokenType("Bearer")
+                .expiresIn((long) (tokenProvider.getAccessTokenExpirationInMs() / 1000))
+                .build();
+    }
+
+    private Date refreshTokenExpiry() {
+        return new Date(System.currentTimeMillis() + tokenProvider.getRefreshTokenExpirationInMs());
+    }
+
+    private static UUID parseId(String value) {
+        if (value == null) {
+            throw new InvalidTokenException("Invalid refresh token");
+        }
+        try {
+            return UUID.fromString(value);
+        } catch (IllegalArgumentException ex) {
+            throw new InvalidTokenException("Invalid refresh token");
+        }
+    }
+
+    private static LocalDateTime toLocalDateTime(Instant instant) {
+        return LocalDateTime.ofInstant(instant, ZoneId.systemDefault());
+    }
+}
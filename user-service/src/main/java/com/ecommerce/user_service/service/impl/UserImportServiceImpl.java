@@ -0,0 +1,356 @@
+package com.ecommerce.user_service.service.impl;
+
+import com.ecommerce.user_service.dto.ImportUserRecord;
+import com.ecommerce.user_service.dto.UserImportError;
+import com.ecommerce.user_service.dto.UserImportSummary;
+import com.ecommerce.user_service.entity.UserStatus;
+import com.ecommerce.user_service.event.UserEventPublisher;
+import com.ecommerce.user_service.event.UsersImportedEvent;
+import com.ecommerce.user_service.repository.RoleCatalog;
+import com.ecommerce.user_service.repository.UserImportWriter;
+import com.ecommerce.user_service.security.PasswordHashingService;
+import com.ecommerce.user_service.service.UserImportService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Streams an NDJSON upload in chunks: parse and validate each line, drop
+ * duplicates within the chunk and against the database with one query, hash plain
+ * passwords on a small dedicated pool (legacy BCrypt hashes are stored as is and
+ * upgraded on the user's next login), then insert the chunk with one JDBC batch in
+ * its own transaction. No per-user emails or events are sent; one summary event is
+ * published at the end. Bad lines are reported and skipped, they never abort the
+ * import.
+ */
+@Service
+@Slf4j
+public class UserImportServiceImpl implements UserImportService {
+
+    private static final String DEFAULT_ROLE = "USER";
+    private static final int MAX_REPORTED_ERRORS = 1000;
+    private static final int MAX_RETAINED_JOBS = 20;
+
+    private final UserImportWriter userImportWriter;
+    private final RoleCatalog roleCatalog;
+    private final PasswordHashingService passwordHashingService;
+    private final UserEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final Validator validator;
+    private final MeterRegistry meterRegistry;
+    private final ObjectReader recordReader;
+    private final Timer chunkTimer;
+    private final int chunkSize;
+    private final int hashingThreads;
+    private final Map<String, ImportJob> jobs = Collections.synchronizedMap(new LinkedHashMap<>() {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, ImportJob> eldest) {
+            return size() > MAX_RETAINED_JOBS;
+        }
+    });
+
+    public UserImportServiceImpl(UserImportWriter userImportWriter,
+                                 RoleCatalog roleCatalog,
+                                 PasswordHashingService passwordHashingService,
+                                 UserEventPublisher eventPublisher,
+                                 TransactionTemplate transactionTemplate,
+                                 Validator validator,
+                                 ObjectMapper objectMapper,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${app.user-import.chunk-size:1000}") int chunkSize,
+                                 @Value("${app.user-import.hashing-threads:2}") int hashingThreads) {
+        this.userImportWriter = userImportWriter;
+        this.roleCatalog = roleCatalog;
+        this.passwordHashingService = passwordHashingService;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = transactionTemplate;
+        this.validator = validator;
+        this.meterRegistry = meterRegistry;
+        this.recordReader = objectMapper.readerFor(ImportUserRecord.class);
+        this.chunkTimer = Timer.builder("user.import.chunk")
+                .description("Time to deduplicate, hash and insert one import chunk")
+                .register(meterRegistry);
+        this.chunkSize = chunkSize;
+        this.hashingThreads = hashingThreads;
+    }
+
+    @Override
+    public UserImportSummary importUsers(InputStream ndjson) {
+        ImportJob job = new ImportJob(UUID.randomUUID().toString());
+        jobs.put(job.id, job);
+        log.info("Starting user import {}", job.id);
+
+        AtomicInteger threadCount = new AtomicInteger();
+        ExecutorService hashingPool = Executors.newFixedThreadPool(hashingThreads, runnable -> {
+            Thread thread = new Thread(runnable, "user-import-hashing-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(ndjson, StandardCharsets.UTF_8))) {
+            List<PendingUser> chunk = new ArrayList<>(chunkSize);
+            String line;
+            long lineNumber = 0;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                job.read.incrementAndGet();
+                PendingUser pending = parse(job, lineNumber, line);
+                if (pending != null) {
+                    chunk.add(pending);
+                }
+                if (chunk.size() == chunkSize) {
+                    writeChunk(job, chunk, hashingPool);
+                    chunk.clear();
+                }
+            }
+            if (!chunk.isEmpty()) {
+                writeChunk(job, chunk, hashingPool);
+            }
+            job.finish("COMPLETED");
+        } catch (IOException | UncheckedIOException ex) {
+            log.error("User import {} aborted while reading input", job.id, ex);
+            job.finish("ABORTED");
+        } finally {
+            hashingPool.shutdownNow();
+        }
+
+        UserImportSummary summary = job.summary();
+        eventPublisher.publishUsersImportedEvent(UsersImportedEvent.builder()
+                .jobId(summary.getJobId())
+                .imported(summary.getImported())
+                .duplicates(summary.getDuplicates())
+                .invalid(summary.getInvalid())
+                .failed(summary.getFailed())
+                .startedAt(summary.getStartedAt())
+                .finishedAt(summary.getFinishedAt())
+                .build());
+        log.info("User import {} {}: {} read, {} imported, {} duplicates, {} invalid, {} failed ({} records/s)",
+                job.id, summary.getStatus(), summary.getRead(), summary.getImported(), summary.getDuplicates(),
+                summary.getInvalid(), summary.getFailed(), Math.round(summary.getRecordsPerSecond()));
+        return summary;
+    }
+
+    @Override
+    public UserImportSummary getImport(String jobId) {
+        ImportJob job = jobs.get(jobId);
+        return job == null ? null : job.summary();
+    }
+
+    @Override
+    public List<UserImportSummary> getImports() {
+        synchronized (jobs) {
+            return jobs.values().stream().map(ImportJob::summary).toList();
+        }
+    }
+
+    private PendingUser parse(ImportJob job, long lineNumber, String line) {
+        ImportUserRecord record;
+        try {
+            record = recordReader.readValue(line);
+        } catch (JsonProcessingException ex) {
+            job.reject(lineNumber, "invalid", "Malformed JSON: " + ex.getOriginalMessage());
+            return null;
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+
+        Set<ConstraintViolation<ImportUserRecord>> violations = validator.validate(record);
+        if (!violations.isEmpty()) {
+            job.reject(lineNumber, "invalid", violations.iterator().next().getMessage());
+            return null;
+        }
+        if ((record.getPassword() == null) == (record.getPasswordHash() == null)) {
+            job.reject(lineNumber, "invalid", "Exactly one of password or passwordHash is required");
+            return null;
+        }
+
+        List<String> roleNames = record.getRoles() == null || record.getRoles().isEmpty()
+                ? List.of(DEFAULT_ROLE) : record.getRoles();
+        List<Long> roleIds = new ArrayList<>(roleNames.size());
+        for (String roleName : roleNames) {
+            Long roleId = roleCatalog.findIdByName(roleName.toUpperCase()).orElse(null);
+            if (roleId == null) {
+                job.reject(lineNumber, "invalid", "Unknown role: " + roleName);
+                return null;
+            }
+            roleIds.add(roleId);
+        }
+        return new PendingUser(lineNumber, record, roleIds);
+    }
+
+    private void writeChunk(ImportJob job, List<PendingUser> chunk, ExecutorService hashingPool) {
+        chunkTimer.record(() -> {
+            // Duplicates inside the chunk, then against the database with a single query
+            Set<String> usernames = new HashSet<>();
+            Set<String> emails = new HashSet<>();
+            List<PendingUser> unique = new ArrayList<>(chunk.size());
+            for (PendingUser pending : chunk) {
+                if (usernames.add(pending.record.getUsername()) & emails.add(pending.record.getEmail())) {
+                    unique.add(pending);
+                } else {
+                    job.reject(pending.line, "duplicate", "Username or email appears earlier in the import");
+                }
+            }
+            UserImportWriter.ExistingUsers existing = userImportWriter.findExisting(usernames, emails);
+            List<PendingUser> fresh = new ArrayList<>(unique.size());
+            for (PendingUser pending : unique) {
+                if (existing.usernames().contains(pending.record.getUsername())
+                        || existing.emails().contains(pending.record.getEmail())) {
+                    job.reject(pending.line, "duplicate", "Username or email already exists");
+                } else {
+                    fresh.add(pending);
+                }
+            }
+            if (fresh.isEmpty()) {
+                return;
+            }
+
+            List<UserImportWriter.NewUser> newUsers = encodePasswords(fresh, hashingPool);
+            try {
+                transactionTemplate.executeWithoutResult(status -> insert(job, fresh, newUsers));
+            } catch (RuntimeException ex) {
+                log.error("User import {} failed to write a chunk of {} users", job.id, fresh.size(), ex);
+                for (PendingUser pending : fresh) {
+                    job.reject(pending.line, "failed", "Chunk could not be written: " + ex.getMessage());
+                }
+            }
+        });
+    }
+
+    private List<UserImportWriter.NewUser> encodePasswords(List<PendingUser> users, ExecutorService hashingPool) {
+        List<CompletableFuture<UserImportWriter.NewUser>> futures = new ArrayList<>(users.size());
+        for (PendingUser pending : users) {
+            ImportUserRecord record = pending.record;
+            String status = Boolean.TRUE.equals(record.getEmailVerified())
+                    ? UserStatus.ACTIVE.name() : UserStatus.PENDING_VERIFICATION.name();
+            if (record.getPasswordHash() != null) {
+                futures.add(CompletableFuture.completedFuture(
+                        new UserImportWriter.NewUser(record, record.getPasswordHash(), status)));
+            } else {
+                futures.add(CompletableFuture.supplyAsync(() -> new UserImportWriter.NewUser(
+                        record, passwordHashingService.encodeInline(record.getPassword()), status), hashingPool));
+            }
+        }
+        return futures.stream().map(CompletableFuture::join).toList();
+    }
+
+    private void insert(ImportJob job, List<PendingUser> users, List<UserImportWriter.NewUser> newUsers) {
+        int[] counts = userImportWriter.insertUsers(newUsers);
+
+        Map<Long, List<String>> usernamesByRole = new HashMap<>();
+        long imported = 0;
+        for (int i = 0; i < counts.length; i++) {
+            PendingUser pending = users.get(i);
+            if (counts[i] == 0) {
+                job.reject(pending.line, "duplicate", "Username or email was registered during the import");
+                continue;
+            }
+            imported++;
+            for (Long roleId : pending.roleIds) {
+                usernamesByRole.computeIfAbsent(roleId, id -> new ArrayList<>()).add(pending.record.getUsername());
+            }
+        }
+        usernamesByRole.forEach(userImportWriter::assignRole);
+
+        job.imported.addAndGet(imported);
+        meterRegistry.counter("user.import.records", "outcome", "imported").increment(imported);
+    }
+
+    private record PendingUser(long line, ImportUserRecord record, List<Long> roleIds) {
+    }
+
+    private class ImportJob {
+
+        private final String id;
+        private final LocalDateTime startedAt = LocalDateTime.now();
+        private final long startedNanos = System.nanoTime();
+        private final AtomicLong read = new AtomicLong();
+        private final AtomicLong imported = new AtomicLong();
+        private final AtomicLong duplicates = new AtomicLong();
+        private final AtomicLong invalid = new AtomicLong();
+        private final AtomicLong failed = new AtomicLong();
+        private final List<UserImportError> errors = Collections.synchronizedList(new ArrayList<>());
+        private volatile String status = "RUNNING";
+        private volatile LocalDateTime finishedAt;
+        private volatile long finishedNanos;
+
+        private ImportJob(String id) {
+            this.id = id;
+        }
+
+        private void reject(long line, String reason, String message) {
+            switch (reason) {
+                case "duplicate" -> duplicates.incrementAndGet();
+                case "invalid" -> invalid.incrementAndGet();
+                default -> failed.incrementAndGet();
+            }
+            meterRegistry.counter("user.import.records", "outcome", reason).increment();
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                errors.add(UserImportError.builder().line(line).reason(reason).message(message).build());
+            }
+        }
+
+        private void finish(String finalStatus) {
+            finishedNanos = System.nanoTime();
+            finishedAt = LocalDateTime.now();
+            status = finalStatus;
+        }
+
+        private UserImportSummary summary() {
+            long end = finishedAt != null ? finishedNanos : System.nanoTime();
+            double seconds = Math.max(Duration.ofNanos(end - startedNanos).toMillis(), 1) / 1000.0;
+            long rejected = duplicates.get() + invalid.get() + failed.get();
+            List<UserImportError> reported;
+            synchronized (errors) {
+                reported = List.copyOf(errors);
+            }
+            return UserImportSummary.builder()
+                    .jobId(id)
+                    .status(status)
+                    .read(read.get())
+                    .imported(imported.get())
+                    .duplicates(duplicates.get())
+                    .invalid(invalid.get())
+                    .failed(failed.get())
+                    .recordsPerSecond(read.get() / seconds)
+                    .startedAt(startedAt)
+                    .finishedAt(finishedAt)
+                    .errors(reported)
+                    .errorsTruncated(rejected > reported.size())
+                    .build();
+        }
+    }
+}
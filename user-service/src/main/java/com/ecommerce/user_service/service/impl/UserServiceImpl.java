@@ -1,32 +1,41 @@
 package com.ecommerce.user_service.service.impl;
 
+import com.ecommerce.user_service.cache.UserProfileCache;
 import com.ecommerce.user_service.dto.*;
 import com.ecommerce.user_service.entity.Role;
 import com.ecommerce.user_service.entity.User;
 import com.ecommerce.user_service.entity.UserStatus;
+import com.ecommerce.user_service.entity.UserTokenPurpose;
 import com.ecommerce.user_service.event.UserEvent;
 import com.ecommerce.user_service.event.UserEventPublisher;
 import com.ecommerce.user_service.exception.*;
 import com.ecommerce.user_service.mapper.UserMapper;
-import com.ecommerce.user_service.repository.RoleRepository;
+import com.ecommerce.user_service.repository.LoginActivityWriter;
+import com.ecommerce.user_service.repository.RoleCatalog;
 import com.ecommerce.user_service.repository.UserRepository;
-import com.ecommerce.user_service.security.JwtTokenProvider;
+import com.ecommerce.user_service.repository.UserSearchRepository;
+import com.ecommerce.user_service.security.throttle.LoginAttemptLimiter;
 import com.ecommerce.user_service.service.EmailService;
+import com.ecommerce.user_service.service.RefreshTokenService;
 import com.ecommerce.user_service.service.UserService;
+import com.ecommerce.user_service.service.UserTokenService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.InternalAuthenticationServiceException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Set;
-import java.util.UUID;
 
 @Service
 @RequiredArgsConstructor
@@ -35,16 +44,23 @@ import java.util.UUID;
 public class UserServiceImpl implements UserService {
 
     private final UserRepository userRepository;
-    private final RoleRepository roleRepository;
+    private final UserSearchRepository userSearchRepository;
+    private final RoleCatalog roleCatalog;
     private final UserMapper userMapper;
     private final PasswordEncoder passwordEncoder;
     private final AuthenticationManager authenticationManager;
-    private final JwtTokenProvider tokenProvider;
+    private final RefreshTokenService refreshTokenService;
     private final EmailService emailService;
     private final UserEventPublisher eventPublisher;
+    private final LoginAttemptLimiter loginAttemptLimiter;
+    private final LoginActivityWriter loginActivityWriter;
+    private final UserTokenService userTokenService;
+    private final UserProfileCache userProfileCache;
 
     private static final int MAX_FAILED_ATTEMPTS = 5;
     private static final int LOCK_DURATION_MINUTES = 30;
+    private static final Duration EMAIL_VERIFICATION_VALIDITY = Duration.ofDays(1);
+    private static final Duration PASSWORD_RESET_VALIDITY = Duration.ofHours(2);
 
     @Override
     public UserDTO registerUser(RegisterRequest request) {
@@ -60,7 +76,7 @@ public class UserServiceImpl implements UserService {
         }
 
         // Get default role
-        Role userRole = roleRepository.findByName("USER")
+        Role userRole = roleCatalog.findByName("USER")
                 .orElseThrow(() -> new RoleNotFoundException("Default role not found"));
 
         // Create user
@@ -77,13 +93,12 @@ public class UserServiceImpl implements UserService {
                 .roles(Set.of(userRole))
                 .build();
 
-        // Generate email verification token
-        String verificationToken = UUID.randomUUID().toString();
-        user.setEmailVerificationToken(verificationToken);
-        user.setEmailVerificationTokenExpiry(LocalDateTime.now().plusDays(1));
-
         User savedUser = userRepository.save(user);
 
+        // Generate email verification token
+        String verificationToken = userTokenService.issueToken(
+                savedUser, UserTokenPurpose.EMAIL_VERIFICATION, EMAIL_VERIFICATION_VALIDITY);
+
         // Send verification email
         emailService.sendVerificationEmail(savedUser.getEmail(), verificationToken);
 
@@ -99,12 +114,25 @@ public class UserServiceImpl implements UserService {
     }
 
     @Override
-    public LoginResponse login(LoginRequest request) {
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public LoginResponse login(LoginRequest request, String clientIp) {
         log.info("User login attempt: {}", request.getUsernameOrEmail());
 
+        // Reject throttled callers before touching the database or BCrypt
+        String identifier = request.getUsernameOrEmail().toLowerCase();
+        loginAttemptLimiter.checkAllowed(identifier, clientIp);
+
         // Find user by username or email
         User user = userRepository.findByUsernameOrEmail(request.getUsernameOrEmail(), request.getUsernameOrEmail())
-                .orElseThrow(() -> new InvalidCredentialsException("Invalid username or password"));
+                .orElseThrow(() -> {
+                    loginAttemptLimiter.recordFailure(identifier, clientIp);
+                    return new InvalidCredentialsException("Invalid username or password");
+                });
+
+        // Count failures against the canonical username, so alternating between the
+        // username and the email does not get twice the attempts before lockout
+        String account = user.getUsername().toLowerCase();
+        loginAttemptLimiter.checkAllowed(account, clientIp);
 
         // Check if account is locked
         if (!user.isAccountNonLocked()) {
@@ -117,7 +145,8 @@ public class UserServiceImpl implements UserService {
         }
 
         try {
-            // Authenticate
+            // Authenticate; a stored hash weaker than the current encoder is re-encoded here
+            // through CustomUserDetailsService.updatePassword
             Authentication authentication = authenticationManager.authenticate(
                     new UsernamePasswordAuthenticationToken(
                             user.getUsername(),
@@ -125,66 +154,79 @@ public class UserServiceImpl implements UserService {
                     )
             );
 
-            // Reset failed attempts on successful login
+            // Reset failed attempts on successful login; the row is written behind in batches
+            loginAttemptLimiter.recordSuccess(account);
             user.setFailedLoginAttempts(0);
             user.setLastLogin(LocalDateTime.now());
-            userRepository.save(user);
+            loginActivityWriter.recordLogin(user.getId(), user.getLastLogin());
 
-            // Generate tokens
-            String accessToken = tokenProvider.generateAccessToken(authentication);
-            String refreshToken = tokenProvider.generateRefreshToken(authentication);
+            // Generate tokens; the refresh token starts a new rotation family
+            LoginResponse response = refreshTokenService.issueTokens(authentication, user.getId());
+            response.setUser(userMapper.toDTO(user));
 
             log.info("User logged in successfully: {}", user.getUsername());
 
-            return LoginResponse.builder()
-                    .accessToken(accessToken)
-                    .refreshToken(refreshToken)
-                    .expiresIn((long) (tokenProvider.getAccessTokenExpirationInMs() / 1000))
-                    .user(userMapper.toDTO(user))
-                    .build();
+            return response;
 
+        } catch (PasswordHashingUnavailableException e) {
+            // Overloaded, not a wrong password: don't count it against the account
+            throw e;
+        } catch (InternalAuthenticationServiceException e) {
+            if (e.getCause() instanceof PasswordHashingUnavailableException unavailable) {
+                throw unavailable;
+            }
+            handleFailedLogin(user, loginAttemptLimiter.recordFailure(account, clientIp));
+            throw new InvalidCredentialsException("Invalid username or password");
         } catch (Exception e) {
             // Handle failed login
-            handleFailedLogin(user);
+            handleFailedLogin(user, loginAttemptLimiter.recordFailure(account, clientIp));
             throw new InvalidCredentialsException("Invalid username or password");
         }
     }
 
-    private void handleFailedLogin(User user) {
-        int attempts = user.getFailedLoginAttempts() + 1;
-        user.setFailedLoginAttempts(attempts);
+    @Override
+    public LoginResponse refreshToken(RefreshTokenRequest request) {
+        return refreshTokenService.refresh(request.getRefreshToken());
+    }
 
-        if (attempts >= MAX_FAILED_ATTEMPTS) {
-            user.setLockedUntil(LocalDateTime.now().plusMinutes(LOCK_DURATION_MINUTES));
-            log.warn("User account locked due to too many failed attempts: {}", user.getUsername());
+    private void handleFailedLogin(User user, long recentFailures) {
+        // Failures are counted by the limiter; the row is only written once the account locks
+        if (recentFailures < MAX_FAILED_ATTEMPTS) {
+            return;
         }
-
-        userRepository.save(user);
+        userRepository.lockAccount(user.getId(), (int) recentFailures,
+                LocalDateTime.now().plusMinutes(LOCK_DURATION_MINUTES));
+        log.warn("User account locked due to too many failed attempts: {}", user.getUsername());
     }
 
+    // SUPPORTS: a cache hit must not start a transaction or check out a connection
     @Override
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public UserDTO getUserById(Long id) {
         log.debug("Fetching user with ID: {}", id);
-        User user = userRepository.findByIdWithRoles(id)
-                .orElseThrow(() -> new UserNotFoundException("User not found with id: " + id));
-        return userMapper.toDTO(user);
+        return userProfileCache.getById(id, () -> {
+            User user = userRepository.findByIdWithRoles(id)
+                    .orElseThrow(() -> new UserNotFoundException("User not found with id: " + id));
+            return userMapper.toDTO(user);
+        });
     }
 
     @Override
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public UserDTO getUserByUsername(String username) {
         log.debug("Fetching user with username: {}", username);
-        User user = userRepository.findByUsernameWithRoles(username)
-                .orElseThrow(() -> new UserNotFoundException("User not found with username: " + username));
-        return userMapper.toDTO(user);
+        return userProfileCache.getByUsername(username, () -> {
+            User user = userRepository.findByUsernameWithRoles(username)
+                    .orElseThrow(() -> new UserNotFoundException("User not found with username: " + username));
+            return userMapper.toDTO(user);
+        });
     }
 
     @Override
     public UserDTO updateUser(Long id, UpdateUserRequest request) {
         log.info("Updating user with ID: {}", id);
 
-        User user = userRepository.findById(id)
+        User user = userRepository.findByIdWithRoles(id)
                 .orElseThrow(() -> new UserNotFoundException("User not found with id: " + id));
 
         if (request.getFirstName() != null) {
@@ -199,6 +241,7 @@ public class UserServiceImpl implements UserService {
         }
 
         User updatedUser = userRepository.save(user);
+        userProfileCache.evict(id);
         log.info("User updated successfully: {}", updatedUser.getUsername());
 
         return userMapper.toDTO(updatedUser);
@@ -219,6 +262,8 @@ public class UserServiceImpl implements UserService {
         // Update password
         user.setPassword(passwordEncoder.encode(request.getNewPassword()));
         userRepository.save(user);
+        userProfileCache.evict(userId);
+        refreshTokenService.revokeAllForUser(userId, "PASSWORD_CHANGED");
 
         log.info("Password changed successfully for user: {}", user.getUsername());
     }
@@ -231,11 +276,7 @@ public class UserServiceImpl implements UserService {
                 .orElseThrow(() -> new UserNotFoundException("User not found with email: " + email));
 
         // Generate reset token
-        String resetToken = UUID.randomUUID().toString();
-        user.setPasswordResetToken(resetToken);
-        user.setPasswordResetTokenExpiry(LocalDateTime.now().plusHours(2));
-
-        userRepository.save(user);
+        String resetToken = userTokenService.issueToken(user, UserTokenPurpose.PASSWORD_RESET, PASSWORD_RESET_VALIDITY);
 
         // Send reset email
         emailService.sendPasswordResetEmail(user.getEmail(), resetToken);
@@ -247,20 +288,13 @@ public class UserServiceImpl implements UserService {
     public void resetPassword(ResetPasswordRequest request) {
         log.info("Resetting password with token");
 
-        User user = userRepository.findByPasswordResetToken(request.getToken())
-                .orElseThrow(() -> new InvalidTokenException("Invalid password reset token"));
-
-        // Check token expiry
-        if (user.getPasswordResetTokenExpiry().isBefore(LocalDateTime.now())) {
-            throw new TokenExpiredException("Password reset token has expired");
-        }
+        User user = userTokenService.consumeToken(request.getToken(), UserTokenPurpose.PASSWORD_RESET);
 
         // Update password
         user.setPassword(passwordEncoder.encode(request.getNewPassword()));
-        user.setPasswordResetToken(null);
-        user.setPasswordResetTokenExpiry(null);
 
         userRepository.save(user);
+        refreshTokenService.revokeAllForUser(user.getId(), "PASSWORD_RESET");
 
         log.info("Password reset successfully for user: {}", user.getUsername());
     }
@@ -269,21 +303,14 @@ public class UserServiceImpl implements UserService {
     public void verifyEmail(String token) {
         log.info("Verifying email with token");
 
-        User user = userRepository.findByEmailVerificationToken(token)
-                .orElseThrow(() -> new InvalidTokenException("Invalid email verification token"));
-
-        // Check token expiry
-        if (user.getEmailVerificationTokenExpiry().isBefore(LocalDateTime.now())) {
-            throw new TokenExpiredException("Email verification token has expired");
-        }
+        User user = userTokenService.consumeToken(token, UserTokenPurpose.EMAIL_VERIFICATION);
 
         // Verify email
         user.setEmailVerified(true);
         user.setStatus(UserStatus.ACTIVE);
-        user.setEmailVerificationToken(null);
-        user.setEmailVerificationTokenExpiry(null);
 
         userRepository.save(user);
+        userProfileCache.evict(user.getId());
 
         // Publish email verified event
         eventPublisher.publishEmailVerifiedEvent(UserEvent.builder()
@@ -307,11 +334,8 @@ public class UserServiceImpl implements UserService {
         }
 
         // Generate new token
-        String verificationToken = UUID.randomUUID().toString();
-        user.setEmailVerificationToken(verificationToken);
-        user.setEmailVerificationTokenExpiry(LocalDateTime.now().plusDays(1));
-
-        userRepository.save(user);
+        String verificationToken = userTokenService.issueToken(
+                user, UserTokenPurpose.EMAIL_VERIFICATION, EMAIL_VERIFICATION_VALIDITY);
 
         // Send verification email
         emailService.sendVerificationEmail(user.getEmail(), verificationToken);
@@ -327,6 +351,38 @@ public class UserServiceImpl implements UserService {
                 .map(userMapper::toDTO);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public UserSearchResponse searchUsers(UserSearchCriteria criteria) {
+        log.debug("Searching users: {}", criteria);
+
+        if (criteria.getStatus() != null) {
+            try {
+                criteria.setStatus(UserStatus.valueOf(criteria.getStatus().toUpperCase()).name());
+            } catch (IllegalArgumentException e) {
+                throw new InvalidSearchRequestException("Unknown status: " + criteria.getStatus());
+            }
+        }
+        Long roleId = null;
+        if (criteria.getRole() != null) {
+            roleId = roleCatalog.findIdByName(criteria.getRole().toUpperCase()).orElse(null);
+            if (roleId == null) {
+                return UserSearchResponse.builder().users(List.of()).build();
+            }
+        }
+
+        UserSearchRepository.Page page;
+        try {
+            page = userSearchRepository.search(criteria, roleId, criteria.getCursor(), criteria.getSize());
+        } catch (IllegalArgumentException e) {
+            throw new InvalidSearchRequestException("Invalid cursor");
+        }
+        return UserSearchResponse.builder()
+                .users(page.users())
+                .nextCursor(page.nextCursor())
+                .build();
+    }
+
     @Override
     public void deleteUser(Long id) {
         log.info("Deleting user with ID: {}", id);
@@ -337,6 +393,8 @@ public class UserServiceImpl implements UserService {
         // Soft delete - just change status
         user.setStatus(UserStatus.INACTIVE);
         userRepository.save(user);
+        userProfileCache.evict(id);
+        refreshTokenService.revokeAllForUser(id, "USER_DELETED");
 
         log.info("User deleted successfully: {}", user.getUsername());
     }
@@ -351,6 +409,8 @@ public class UserServiceImpl implements UserService {
         user.setStatus(UserStatus.SUSPENDED);
         user.setLockedUntil(LocalDateTime.now().plusYears(100)); // Permanent lock
         userRepository.save(user);
+        userProfileCache.evict(id);
+        refreshTokenService.revokeAllForUser(id, "USER_LOCKED");
 
         log.info("User locked successfully: {}", user.getUsername());
     }
@@ -366,6 +426,7 @@ public class UserServiceImpl implements UserService {
         user.setLockedUntil(null);
         user.setFailedLoginAttempts(0);
         userRepository.save(user);
+        userProfileCache.evict(id);
 
         log.info("User unlocked successfully: {}", user.getUsername());
     }
@@ -0,0 +1,120 @@
+package com.ecommerce.user_service.service.impl;
+
+import com.ecommerce.user_service.entity.User;
+import com.ecommerce.user_service.entity.UserToken;
+import com.ecommerce.user_service.entity.UserTokenPurpose;
+import com.ecommerce.user_service.exception.InvalidTokenException;
+import com.ecommerce.user_service.exception.TokenExpiredException;
+import com.ecommerce.user_service.repository.UserTokenRepository;
+import com.ecommerce.user_service.service.UserTokenService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+/**
+ * Issues one-time email verification and password reset tokens. Only the SHA-256
+ * of a token is stored, so a lookup is a unique index probe and a leaked table
+ * does not contain usable links.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional
+public class UserTokenServiceImpl implements UserTokenService {
+
+    private static final int TOKEN_BYTES = 32;
+    private static final SecureRandom RANDOM = new SecureRandom();
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+
+    private final UserTokenRepository userTokenRepository;
+
+    @Value("${app.user-tokens.purge-batch-size:1000}")
+    private int purgeBatchSize;
+
+    @Override
+    public String issueToken(User user, UserTokenPurpose purpose, Duration validity) {
+        byte[] raw = new byte[TOKEN_BYTES];
+        RANDOM.nextBytes(raw);
+        String token = ENCODER.encodeToString(raw);
+
+        userTokenRepository.save(UserToken.builder()
+                .user(user)
+                .purpose(purpose)
+                .tokenHash(hash(token))
+                .expiresAt(LocalDateTime.now().plus(validity))
+                .build());
+        return token;
+    }
+
+    @Override
+    public User consumeToken(String token, UserTokenPurpose purpose) {
+        UserToken userToken = userTokenRepository.findByTokenHashAndPurpose(hash(token), purpose)
+                .orElseThrow(() -> new InvalidTokenException("Invalid " + describe(purpose) + " token"));
+
+        if (userToken.isExpired()) {
+            throw new TokenExpiredException(capitalize(describe(purpose)) + " token has expired");
+        }
+
+        // The delete blocks on a concurrent claim and then finds no row, so a link
+        // clicked twice at once is only honoured once
+        if (userTokenRepository.claim(userToken.getId()) == 0) {
+            throw new InvalidTokenException("Invalid " + describe(purpose) + " token");
+        }
+
+        // Using one token invalidates every other outstanding token for the same purpose
+        User user = userToken.getUser();
+        userTokenRepository.deleteByUserIdAndPurpose(user.getId(), purpose);
+        return user;
+    }
+
+    @Override
+    public void revokeTokens(User user, UserTokenPurpose purpose) {
+        userTokenRepository.deleteByUserIdAndPurpose(user.getId(), purpose);
+    }
+
+    @Scheduled(fixedDelayString = "${app.user-tokens.purge-interval-ms:3600000}")
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void purgeExpiredTokens() {
+        long purged = 0;
+        int deleted;
+        do {
+            deleted = userTokenRepository.deleteExpiredBatch(purgeBatchSize);
+            purged += deleted;
+        } while (deleted == purgeBatchSize);
+
+        if (purged > 0) {
+            log.info("Purged {} expired user tokens", purged);
+        }
+    }
+
+    private static byte[] hash(String token) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 not available", ex);
+        }
+    }
+
+    private static String describe(UserTokenPurpose purpose) {
+        return switch (purpose) {
+            case EMAIL_VERIFICATION -> "email verification";
+            case PASSWORD_RESET -> "password reset";
+        };
+    }
+
+    private static String capitalize(String value) {
+        return Character.toUpperCase(value.charAt(0)) + value.substring(1);
+    }
+}
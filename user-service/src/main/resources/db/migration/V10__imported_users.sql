@@ -0,0 +1,6 @@
+-- Users brought in by the bulk import keep their legacy created_at, and unverified ones
+-- never got a verification email, so the unverified-account cleanup must skip them.
+ALTER TABLE users ADD COLUMN imported_at TIMESTAMP;
+
+DROP INDEX IF EXISTS idx_users_unverified;
+CREATE INDEX idx_users_unverified ON users(id, created_at) WHERE email_verified = false AND imported_at IS NULL;
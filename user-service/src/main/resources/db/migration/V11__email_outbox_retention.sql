@@ -0,0 +1,6 @@
+-- Sent emails no longer keep their body: it holds verification and reset links
+ALTER TABLE email_outbox ALTER COLUMN body DROP NOT NULL;
+UPDATE email_outbox SET body = NULL WHERE status = 'SENT';
+
+-- Lets the retention purge find finished messages without scanning pending ones
+CREATE INDEX idx_email_outbox_finished ON email_outbox(created_at) WHERE status <> 'PENDING';
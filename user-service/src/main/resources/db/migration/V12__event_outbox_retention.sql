@@ -0,0 +1,2 @@
+-- Lets the retention purge find published events without scanning the whole table
+CREATE INDEX idx_event_outbox_published ON event_outbox(published_at) WHERE published_at IS NOT NULL;
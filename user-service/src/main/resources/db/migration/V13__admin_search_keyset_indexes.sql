@@ -0,0 +1,11 @@
+-- Prefix and creation-range searches page by the filtered column, so each index
+-- carries id as the tiebreaker and serves both the filter and the keyset order.
+-- C collation lets the plain btree answer the prefix LIKE as well, which the
+-- text_pattern_ops indexes from V8 could not do for ORDER BY.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_users_email_lower_c_id ON users ((lower(email) COLLATE "C"), id);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_users_username_lower_c_id ON users ((lower(username) COLLATE "C"), id);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_users_created_at_id ON users (created_at, id);
+-- Superseded by the indexes above
+DROP INDEX CONCURRENTLY IF EXISTS idx_users_email_lower_prefix;
+DROP INDEX CONCURRENTLY IF EXISTS idx_users_username_lower_prefix;
+DROP INDEX CONCURRENTLY IF EXISTS idx_users_created_at;
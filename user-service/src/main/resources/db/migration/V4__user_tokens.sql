@@ -0,0 +1,35 @@
+-- One-time tokens live outside users so a user can hold several at once and
+-- lookups go through a unique index on the token hash; raw tokens are never stored.
+CREATE TABLE user_tokens (
+    id BIGSERIAL PRIMARY KEY,
+    user_id BIGINT NOT NULL REFERENCES users(id) ON DELETE CASCADE,
+    purpose VARCHAR(30) NOT NULL,
+    token_hash BYTEA NOT NULL,
+    expires_at TIMESTAMP NOT NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE UNIQUE INDEX idx_user_tokens_token_hash ON user_tokens(token_hash);
+CREATE INDEX idx_user_tokens_user_purpose ON user_tokens(user_id, purpose);
+CREATE INDEX idx_user_tokens_expires_at ON user_tokens(expires_at);
+
+-- Carry over links already sent; the hash matches UserTokenServiceImpl (SHA-256 of the UTF-8 token)
+INSERT INTO user_tokens (user_id, purpose, token_hash, expires_at)
+SELECT id, 'EMAIL_VERIFICATION', sha256(convert_to(email_verification_token, 'UTF8')), email_verification_token_expiry
+FROM users
+WHERE email_verification_token IS NOT NULL
+  AND email_verification_token_expiry > CURRENT_TIMESTAMP
+ON CONFLICT (token_hash) DO NOTHING;
+
+INSERT INTO user_tokens (user_id, purpose, token_hash, expires_at)
+SELECT id, 'PASSWORD_RESET', sha256(convert_to(password_reset_token, 'UTF8')), password_reset_token_expiry
+FROM users
+WHERE password_reset_token IS NOT NULL
+  AND password_reset_token_expiry > CURRENT_TIMESTAMP
+ON CONFLICT (token_hash) DO NOTHING;
+
+ALTER TABLE users
+    DROP COLUMN password_reset_token,
+    DROP COLUMN password_reset_token_expiry,
+    DROP COLUMN email_verification_token,
+    DROP COLUMN email_verification_token_expiry;
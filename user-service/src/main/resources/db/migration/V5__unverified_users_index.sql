@@ -0,0 +1,2 @@
+-- Lets the unverified-account cleanup walk candidates in id order without scanning verified users
+CREATE INDEX idx_users_unverified ON users(id, created_at) WHERE email_verified = false;
@@ -0,0 +1,6 @@
+-- Keep only the oldest default per user before enforcing the invariant
+UPDATE addresses a SET is_default = false
+WHERE a.is_default
+  AND EXISTS (SELECT 1 FROM addresses b WHERE b.user_id = a.user_id AND b.is_default AND b.id < a.id);
+
+CREATE UNIQUE INDEX uk_addresses_user_default ON addresses(user_id) WHERE is_default;
@@ -0,0 +1,26 @@
+-- A family is one login session; each refresh rotates current_jti, and presenting
+-- any older refresh token of the family revokes the whole family.
+CREATE TABLE refresh_token_families (
+    id UUID PRIMARY KEY,
+    user_id BIGINT NOT NULL REFERENCES users(id) ON DELETE CASCADE,
+    current_jti UUID NOT NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    rotated_at TIMESTAMP,
+    expires_at TIMESTAMP NOT NULL,
+    revoked_at TIMESTAMP,
+    revoked_reason VARCHAR(30)
+);
+
+CREATE INDEX idx_refresh_token_families_user ON refresh_token_families(user_id) WHERE revoked_at IS NULL;
+CREATE INDEX idx_refresh_token_families_expires_at ON refresh_token_families(expires_at);
+
+-- Append-only revocation log every instance replays into its in-memory revocation list
+CREATE TABLE token_revocations (
+    id BIGSERIAL PRIMARY KEY,
+    revoked_key VARCHAR(100) NOT NULL,
+    revoked_at TIMESTAMP NOT NULL,
+    expires_at TIMESTAMP NOT NULL
+);
+
+CREATE INDEX idx_token_revocations_revoked_at ON token_revocations(revoked_at);
+CREATE INDEX idx_token_revocations_expires_at ON token_revocations(expires_at);
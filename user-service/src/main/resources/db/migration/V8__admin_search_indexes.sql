@@ -0,0 +1,9 @@
+-- Indexes for the admin user search. Built CONCURRENTLY so large users tables stay
+-- writable; Flyway runs a script made only of such statements outside a transaction.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_users_email_lower_prefix ON users (lower(email) text_pattern_ops);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_users_username_lower_prefix ON users (lower(username) text_pattern_ops);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_users_status_id ON users (status, id);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_users_created_at ON users (created_at);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_user_roles_role_user ON user_roles (role_id, user_id);
+-- Superseded by idx_users_status_id
+DROP INDEX CONCURRENTLY IF EXISTS idx_users_status;
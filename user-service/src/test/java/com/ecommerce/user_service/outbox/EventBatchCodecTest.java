@@ -0,0 +1,93 @@
+package com.ecommerce.user_service.outbox;
+
+import com.ecommerce.user_service.config.RabbitMQConfig;
+import com.ecommerce.user_service.entity.EventOutboxMessage;
+import com.ecommerce.user_service.event.UserEvent;
+import com.ecommerce.user_service.event.UsersImportedEvent;
+import org.junit.jupiter.api.Test;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.support.converter.MessageConversionException;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.UUID;
+import java.util.zip.DeflaterOutputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class EventBatchCodecTest {
+
+    private static final String USER_EVENT = UserEvent.class.getName();
+    private static final String USERS_IMPORTED_EVENT = UsersImportedEvent.class.getName();
+
+    @Test
+    void decodeReturnsWhatWasEncoded() {
+        List<EventOutboxMessage> events = List.of(
+                event(USER_EVENT, "{\"email\":\"jane@example.com\"}"),
+                event(USERS_IMPORTED_EVENT, "{\"firstName\":\"Zoë\"}"),
+                event(USER_EVENT, "{\"email\":\"li@example.com\"}"));
+
+        List<EventBatchCodec.BatchedEvent> decoded = EventBatchCodec.decode(EventBatchCodec.encode(events));
+
+        assertThat(decoded).hasSize(3);
+        for (int i = 0; i < events.size(); i++) {
+            assertThat(decoded.get(i).eventId()).isEqualTo(events.get(i).getEventId());
+            assertThat(decoded.get(i).payloadType()).isEqualTo(events.get(i).getPayloadType());
+            assertThat(new String(decoded.get(i).payload(), StandardCharsets.UTF_8))
+                    .isEqualTo(events.get(i).getPayload());
+        }
+    }
+
+    @Test
+    void messageCarriesBatchHeaders() {
+        List<EventOutboxMessage> events = List.of(
+                event(USER_EVENT, "{}"),
+                event(USERS_IMPORTED_EVENT, "{}"));
+
+        Message message = EventBatchCodec.toMessage(events);
+
+        assertThat(message.getMessageProperties().getContentType()).isEqualTo(EventBatchCodec.CONTENT_TYPE);
+        assertThat(message.getMessageProperties().getMessageId()).isEqualTo(events.get(0).getEventId().toString());
+        assertThat((Integer) message.getMessageProperties().getHeader(EventBatchCodec.SCHEMA_VERSION_HEADER))
+                .isEqualTo(EventBatchCodec.SCHEMA_VERSION);
+        assertThat((Integer) message.getMessageProperties().getHeader(EventBatchCodec.BATCH_SIZE_HEADER))
+                .isEqualTo(2);
+        assertThat(EventBatchCodec.decode(message.getBody())).hasSize(2);
+    }
+
+    @Test
+    void rejectsUnknownSchemaVersion() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(new DeflaterOutputStream(bytes))) {
+            out.writeByte(EventBatchCodec.SCHEMA_VERSION + 1);
+            out.writeInt(0);
+            out.writeInt(0);
+        }
+
+        assertThatThrownBy(() -> EventBatchCodec.decode(bytes.toByteArray()))
+                .isInstanceOf(MessageConversionException.class)
+                .hasMessageContaining("schema version " + (EventBatchCodec.SCHEMA_VERSION + 1));
+    }
+
+    @Test
+    void rejectsMalformedBody() {
+        byte[] body = "not a batch".getBytes(StandardCharsets.UTF_8);
+
+        assertThatThrownBy(() -> EventBatchCodec.decode(body))
+                .isInstanceOf(MessageConversionException.class);
+    }
+
+    private static EventOutboxMessage event(String payloadType, String payload) {
+        return EventOutboxMessage.builder()
+                .eventId(UUID.randomUUID())
+                .exchange(RabbitMQConfig.USER_EXCHANGE)
+                .routingKey(RabbitMQConfig.PROFILE_INVALIDATED_ROUTING_KEY)
+                .payloadType(payloadType)
+                .payload(payload)
+                .build();
+    }
+}
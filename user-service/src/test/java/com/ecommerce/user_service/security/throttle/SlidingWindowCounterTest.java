@@ -0,0 +1,49 @@
+package com.ecommerce.user_service.security.throttle;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SlidingWindowCounterTest {
+
+    // One-second window in ten 100 ms buckets
+    private final SlidingWindowCounter counter = new SlidingWindowCounter(1_000, 10);
+
+    @Test
+    void countsIncrementsWithinTheWindow() {
+        assertThat(counter.increment(0)).isEqualTo(1);
+        assertThat(counter.increment(50)).isEqualTo(2);
+        assertThat(counter.increment(950)).isEqualTo(3);
+
+        assertThat(counter.sum(999)).isEqualTo(3);
+    }
+
+    @Test
+    void bucketsExpireAsTheWindowSlides() {
+        counter.increment(0);
+        counter.increment(50);
+        counter.increment(150);
+
+        assertThat(counter.sum(1_000)).isEqualTo(1);
+        assertThat(counter.sum(1_100)).isZero();
+    }
+
+    @Test
+    void staleBucketIsRecycledOnIncrement() {
+        counter.increment(0);
+        counter.increment(10);
+
+        assertThat(counter.increment(1_000)).isEqualTo(1);
+    }
+
+    @Test
+    void resetClearsEveryBucket() {
+        counter.increment(0);
+        counter.increment(500);
+
+        counter.reset();
+
+        assertThat(counter.sum(500)).isZero();
+        assertThat(counter.increment(600)).isEqualTo(1);
+    }
+}
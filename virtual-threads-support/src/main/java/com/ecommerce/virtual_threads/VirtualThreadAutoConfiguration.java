@@ -0,0 +1,58 @@
+package com.ecommerce.virtual_threads;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import java.time.Duration;
+
+/**
+ * Active when {@code spring.threads.virtual.enabled=true}: Tomcat, {@code @Async}
+ * and scheduled work then run on virtual threads, so database concurrency is
+ * bounded explicitly and carrier-thread pinning is reported as metrics.
+ */
+@AutoConfiguration
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class VirtualThreadAutoConfiguration {
+
+    @Bean
+    public VirtualThreadPinningMonitor virtualThreadPinningMonitor(MeterRegistry meterRegistry, Environment environment) {
+        Duration threshold = environment.getProperty("app.virtual-threads.pinning-threshold",
+                Duration.class, Duration.ofMillis(20));
+        return new VirtualThreadPinningMonitor(meterRegistry, threshold);
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnClass(HikariDataSource.class)
+    static class BoundedDataSourceConfiguration {
+
+        /**
+         * Sizes the permits from the pool itself, so they cannot drift from
+         * {@code spring.datasource.hikari.maximum-pool-size}.
+         */
+        @Bean
+        static BeanPostProcessor boundedDataSourcePostProcessor(Environment environment,
+                                                               ObjectProvider<MeterRegistry> meterRegistry) {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    if (bean instanceof HikariDataSource dataSource) {
+                        Duration timeout = environment.getProperty("app.virtual-threads.datasource.acquire-timeout",
+                                Duration.class, Duration.ofSeconds(5));
+                        return new BoundedDataSource(dataSource, dataSource.getMaximumPoolSize(), timeout,
+                                meterRegistry.getObject());
+                    }
+                    return bean;
+                }
+            };
+        }
+    }
+}